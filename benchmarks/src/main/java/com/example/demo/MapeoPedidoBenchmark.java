@@ -0,0 +1,53 @@
+package com.example.demo;
+
+import com.example.demo.bench.Datos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paso DTO → entidades de PedidoService.realizarPedido (construirPedido), sin
+ * base de datos. Está en el paquete de la aplicación porque construirPedido es
+ * de paquete; el resto de benchmarks vive en com.example.demo.bench.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapeoPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private final PedidoService pedidoService = new PedidoService();
+
+    private Usuario cliente;
+
+    private PedidoRequestDTO solicitud;
+
+    private Map<Integer, Plato> platos;
+
+    @Setup
+    public void iniciar() {
+        cliente = Datos.cliente();
+        solicitud = Datos.solicitud(items);
+        platos = Datos.carta();
+    }
+
+    @Benchmark
+    public Pedido construirPedido() {
+        return pedidoService.construirPedido(cliente, solicitud, platos);
+    }
+}
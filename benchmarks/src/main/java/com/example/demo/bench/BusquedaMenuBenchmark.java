@@ -0,0 +1,71 @@
+package com.example.demo.bench;
+
+import com.example.demo.IndiceMenu;
+import com.example.demo.Plato;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/platos/buscar sin HTTP: consultas típicas contra IndiceMenu con la
+ * carta inicial y con una carta grande (la inicial repetida con nombres
+ * distintos), y la reconstrucción del índice tras cambiar un plato.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusquedaMenuBenchmark {
+
+    @Param({"6", "600"})
+    public int platos;
+
+    @Param({"ram", "salsa tempu", "shouyu"})
+    public String consulta;
+
+    private List<Plato> carta;
+
+    private IndiceMenu indice;
+
+    @Setup
+    public void iniciar() {
+        carta = new ArrayList<>(platos);
+        List<Plato> base = new ArrayList<>(Datos.carta().values());
+        for (int i = 0; i < platos; i++) {
+            Plato modelo = base.get(i % base.size());
+            Plato plato = new Plato(modelo.getNombre() + (i < base.size() ? "" : " " + i),
+                modelo.getDescripcion(), modelo.getPrecio());
+            plato.setId(i + 1);
+            carta.add(plato);
+        }
+        indice = IndiceMenu.construir(carta, null);
+    }
+
+    @Benchmark
+    public List<Plato> buscar() {
+        return indice.buscar(consulta, 10);
+    }
+
+    @Benchmark
+    public IndiceMenu reconstruirTrasCambio() {
+        Plato cambiado = new Plato(carta.get(0).getNombre(), "Nueva descripción con shoyu", BigDecimal.TEN);
+        cambiado.setId(carta.get(0).getId());
+        List<Plato> nueva = new ArrayList<>(carta);
+        nueva.set(0, cambiado);
+        return IndiceMenu.construir(nueva, indice);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara dos resultados JSON de JMH (-rf json), por ejemplo de dos commits:
+ *     mvn -B -f benchmarks/pom.xml exec:exec -Pcomparar -Dantes=antes.json -Ddespues=despues.json
+ * Para cada benchmark y combinación de @Param muestra ambos valores y la
+ * variación. Marca con "!" los cambios mayores que la suma de los márgenes de
+ * error; en modo AverageTime un valor mayor es más lento.
+ */
+public final class CompararResultados {
+
+    private CompararResultados() {}
+
+    private record Resultado(double valor, double error, String unidad) {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Uso: CompararResultados <antes.json> <despues.json>");
+            System.exit(2);
+        }
+        Map<String, Resultado> antes = leer(new File(args[0]));
+        Map<String, Resultado> despues = leer(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %9s%n", "Benchmark", "Antes", "Después", "Cambio");
+        for (Map.Entry<String, Resultado> entrada : despues.entrySet()) {
+            Resultado nuevo = entrada.getValue();
+            Resultado viejo = antes.get(entrada.getKey());
+            if (viejo == null) {
+                System.out.printf("%-70s %14s %14.3f %9s  %s%n", entrada.getKey(), "-", nuevo.valor(), "nuevo", nuevo.unidad());
+                continue;
+            }
+            double cambio = (nuevo.valor() - viejo.valor()) / viejo.valor() * 100;
+            boolean significativo = Math.abs(nuevo.valor() - viejo.valor()) > viejo.error() + nuevo.error();
+            System.out.printf("%-70s %14.3f %14.3f %+8.1f%%%s %s%n", entrada.getKey(), viejo.valor(), nuevo.valor(),
+                cambio, significativo ? "!" : " ", nuevo.unidad());
+        }
+        for (String clave : antes.keySet()) {
+            if (!despues.containsKey(clave)) {
+                System.out.printf("%-70s %14.3f %14s %9s%n", clave, antes.get(clave).valor(), "-", "eliminado");
+            }
+        }
+    }
+
+    private static Map<String, Resultado> leer(File archivo) throws IOException {
+        Map<String, Resultado> resultados = new LinkedHashMap<>();
+        for (JsonNode corrida : new ObjectMapper().readTree(archivo)) {
+            StringBuilder clave = new StringBuilder(corrida.get("benchmark").asText()
+                .replace("com.example.demo.bench.", "").replace("com.example.demo.", ""));
+            JsonNode params = corrida.get("params");
+            if (params != null) {
+                Iterator<Map.Entry<String, JsonNode>> campos = params.fields();
+                while (campos.hasNext()) {
+                    Map.Entry<String, JsonNode> campo = campos.next();
+                    clave.append(' ').append(campo.getKey()).append('=').append(campo.getValue().asText());
+                }
+            }
+            JsonNode metrica = corrida.get("primaryMetric");
+            double error = metrica.get("scoreError").asDouble();
+            resultados.put(clave.toString(), new Resultado(metrica.get("score").asDouble(),
+                Double.isNaN(error) ? 0 : error, metrica.get("scoreUnit").asText()));
+        }
+        return resultados;
+    }
+}
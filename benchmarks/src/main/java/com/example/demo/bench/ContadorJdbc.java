@@ -0,0 +1,79 @@
+package com.example.demo.bench;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envuelve el DataSource para contar, a nivel JDBC, cuántos INSERT se envían
+ * y en cuántos viajes a la base de datos (un executeBatch cuenta como un viaje).
+ */
+public final class ContadorJdbc {
+
+    private static final AtomicLong VIAJES_INSERT = new AtomicLong();
+
+    private static final AtomicLong FILAS_INSERT = new AtomicLong();
+
+    private ContadorJdbc() {}
+
+    public static long viajesInsert() {
+        return VIAJES_INSERT.get();
+    }
+
+    public static long filasInsert() {
+        return FILAS_INSERT.get();
+    }
+
+    public static DataSource envolver(DataSource dataSource) {
+        return proxy(DataSource.class, dataSource, (metodo, args, resultado) ->
+            resultado instanceof Connection conexion ? envolver(conexion) : resultado);
+    }
+
+    private static Connection envolver(Connection conexion) {
+        return proxy(Connection.class, conexion, (metodo, args, resultado) -> {
+            if (resultado instanceof PreparedStatement sentencia && metodo.getName().equals("prepareStatement")) {
+                return envolver(sentencia, ((String) args[0]).trim().toLowerCase(Locale.ROOT).startsWith("insert"));
+            }
+            return resultado;
+        });
+    }
+
+    private static PreparedStatement envolver(PreparedStatement sentencia, boolean esInsert) {
+        return proxy(PreparedStatement.class, sentencia, (metodo, args, resultado) -> {
+            if (esInsert) {
+                switch (metodo.getName()) {
+                    case "execute", "executeUpdate", "executeLargeUpdate" -> {
+                        VIAJES_INSERT.incrementAndGet();
+                        FILAS_INSERT.incrementAndGet();
+                    }
+                    case "addBatch" -> FILAS_INSERT.incrementAndGet();
+                    case "executeBatch", "executeLargeBatch" -> VIAJES_INSERT.incrementAndGet();
+                    default -> { }
+                }
+            }
+            return resultado;
+        });
+    }
+
+    private interface PostLlamada {
+        Object aplicar(Method metodo, Object[] args, Object resultado);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T destino, PostLlamada postLlamada) {
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            try {
+                return postLlamada.aplicar(metodo, args, metodo.invoke(destino, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (T) Proxy.newProxyInstance(ContadorJdbc.class.getClassLoader(), new Class<?>[] {tipo}, manejador);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Arranca la aplicación completa sobre H2 en modo MySQL, con el DataSource
+ * envuelto por ContadorJdbc (y LatenciaJdbc si se pide). Cada fork de JMH usa
+ * su propia base en memoria.
+ */
+public final class ContextoBenchmark {
+
+    private ContextoBenchmark() {}
+
+    public static ConfigurableApplicationContext iniciar(String... propiedadesExtra) {
+        List<String> args = new ArrayList<>(List.of(
+            "--spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--spring.jpa.show-sql=false",
+            "--server.port=0",
+            "--auth.bcrypt.fuerza=10",
+            "--logging.level.root=WARN"));
+        for (String propiedad : propiedadesExtra) {
+            args.add("--" + propiedad);
+        }
+        return SpringApplication.run(new Class<?>[] {DemoApplication.class, Configuracion.class}, args.toArray(String[]::new));
+    }
+
+    @Configuration
+    static class Configuracion {
+
+        // bench.latencia-ms > 0 simula además la latencia de red de cada sentencia
+        @Bean
+        static BeanPostProcessor contadorJdbc(Environment entorno) {
+            long latenciaMs = entorno.getProperty("bench.latencia-ms", Long.class, 0L);
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String nombre) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    DataSource contado = ContadorJdbc.envolver(dataSource);
+                    return latenciaMs > 0 ? LatenciaJdbc.envolver(contado, latenciaMs) : contado;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.bench;
+
+import com.example.demo.Estado;
+import com.example.demo.Factura;
+import com.example.demo.ItemPedido;
+import com.example.demo.ItemPedidoDTO;
+import com.example.demo.Pedido;
+import com.example.demo.PedidoRequestDTO;
+import com.example.demo.Plato;
+import com.example.demo.Rol;
+import com.example.demo.Usuario;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafos de entidades con la forma que tienen en producción (la carta inicial
+ * de PlatoService, un cliente con todos sus datos) para los benchmarks que no
+ * necesitan base de datos.
+ */
+public final class Datos {
+
+    private Datos() {}
+
+    public static Map<Integer, Plato> carta() {
+        Map<Integer, Plato> platos = new LinkedHashMap<>();
+        agregar(platos, 1, "Sushi clasico", "Nigiri de salmón, makis de atún, roll california", "25000");
+        agregar(platos, 2, "Ramen especial", "Ramen de miso con cerdo chashu", "25000");
+        agregar(platos, 3, "Bento Teriyaki", "Pollo teriyaki, arroz blanco, ensalada de algas", "20000");
+        agregar(platos, 4, "Tempura mixto", "Langostinos tempura, verduras tempura, salsa tentsuyu", "20000");
+        agregar(platos, 5, "Udon tradicional", "Sopa de udon con dashi, tofu frito, kamaboko", "25000");
+        agregar(platos, 6, "Yakisoba", "Tallarines fritos con vegetales, cerdo o pollo, salsa yakisoba", "15000");
+        return platos;
+    }
+
+    public static Usuario cliente() {
+        return new Usuario("Juan Pérez", "111", "3023456789", "Calle 10 # 20-30, apto 401",
+            "Mesero1", "$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z5Ggm5aXmv6oS/4y9J6pFXaK", Rol.MESERO);
+    }
+
+    public static PedidoRequestDTO solicitud(int items) {
+        List<ItemPedidoDTO> lineas = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            lineas.add(new ItemPedidoDTO(1 + i % 6, 1 + i % 3));
+        }
+        return new PedidoRequestDTO("111", false, lineas);
+    }
+
+    public static Pedido pedido(int id, int items) {
+        Map<Integer, Plato> platos = carta();
+        Pedido pedido = new Pedido(cliente(), id % 2 == 0);
+        pedido.setId(id);
+        pedido.setEstado(Estado.FINALIZADO);
+        pedido.setFecha(LocalDateTime.of(2025, 3, 14, 12, 30).plusMinutes(id));
+        List<ItemPedido> lineas = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Plato plato = platos.get(1 + i % 6);
+            ItemPedido item = new ItemPedido(1 + i % 3, plato.getPrecio(), pedido, plato);
+            item.setId(id * 100 + i);
+            lineas.add(item);
+        }
+        pedido.setItems(lineas);
+        return pedido;
+    }
+
+    public static Factura factura(Pedido pedido) {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedido item : pedido.getItems()) {
+            total = total.add(item.getPrecioUnitario().multiply(BigDecimal.valueOf(item.getCantidad())));
+        }
+        Usuario admin = new Usuario("Admin", "114", "3000000000", "Sede principal", "Admin", "$2a$10$x", Rol.ADMIN);
+        return new Factura(pedido.getId().longValue(), total, pedido.getFecha().plusMinutes(40), pedido, admin);
+    }
+
+    private static void agregar(Map<Integer, Plato> platos, int id, String nombre, String descripcion, String precio) {
+        Plato plato = new Plato(nombre, descripcion, new BigDecimal(precio));
+        plato.setId(id);
+        platos.put(id, plato);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.bench;
+
+import com.example.demo.ItemPedido;
+import com.example.demo.Pedido;
+import com.example.demo.PedidoCocinaDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lo que descarga una tableta de cocina con 20 pedidos abiertos de 5 items:
+ * GET /api/pedidos (Pedido con cliente y platos completos) frente a
+ * GET /api/pedidos/cocina (PedidoCocinaDTO, platos por id), en JSON, CBOR y Smile.
+ * Mide la serialización; el tamaño en bytes de cada combinación se imprime al
+ * preparar el estado, antes de las iteraciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FormatosBinariosBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String formato;
+
+    @Param({"completa", "cocina"})
+    public String vista;
+
+    private ObjectMapper mapper;
+
+    private Object respuesta;
+
+    @Setup
+    public void iniciar() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        mapper = switch (formato) {
+            case "cbor" -> builder.factory(new CBORFactory()).build();
+            case "smile" -> builder.factory(new SmileFactory()).build();
+            default -> builder.build();
+        };
+        List<Pedido> pedidos = new ArrayList<>();
+        for (int id = 1; id <= 20; id++) {
+            pedidos.add(Datos.pedido(id, 5));
+        }
+        respuesta = vista.equals("cocina") ? pedidos.stream().map(FormatosBinariosBenchmark::cocina).toList() : pedidos;
+        System.out.printf("%n%s/%s: %d bytes%n", vista, formato, mapper.writeValueAsBytes(respuesta).length);
+    }
+
+    @Benchmark
+    public byte[] escribir() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(respuesta);
+    }
+
+    private static PedidoCocinaDTO cocina(Pedido pedido) {
+        PedidoCocinaDTO dto = new PedidoCocinaDTO(pedido.getId(), pedido.getFecha(), pedido.getEstado(),
+            pedido.getEsDomicilio(), pedido.getVersion());
+        for (ItemPedido item : pedido.getItems()) {
+            dto.getItems().add(new PedidoCocinaDTO.Item(item.getPlato().getId(), item.getCantidad()));
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.bench;
+
+import com.example.demo.ItemPedidoDTO;
+import com.example.demo.Pedido;
+import com.example.demo.PedidoRequestDTO;
+import com.example.demo.PedidoService;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PedidoService.realizarPedido con 1, 10 y 50 items. Además de la latencia
+ * reporta, por iteración, los INSERT enviados (filasInsert) y los viajes JDBC
+ * que costaron (viajesInsert); con ids IDENTITY cada fila es un viaje.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class InsercionPedidoBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private ConfigurableApplicationContext contexto;
+
+    private PedidoService pedidoService;
+
+    private PedidoRequestDTO pedido;
+
+    private long pedidos;
+
+    private long viajesInicio;
+
+    private long filasInicio;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Sentencias {
+        public long viajesInsert;
+        public long filasInsert;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            viajesInsert = 0;
+            filasInsert = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoBenchmark.iniciar();
+        pedidoService = contexto.getBean(PedidoService.class);
+        List<ItemPedidoDTO> lineas = new ArrayList<>();
+        for (int i = 0; i < items; i++) {
+            lineas.add(new ItemPedidoDTO(1 + i % 6, 1 + i % 3));
+        }
+        pedido = new PedidoRequestDTO("111", false, lineas);
+        viajesInicio = ContadorJdbc.viajesInsert();
+        filasInicio = ContadorJdbc.filasInsert();
+    }
+
+    @Benchmark
+    public Pedido realizarPedido(Sentencias sentencias) {
+        long viajes = ContadorJdbc.viajesInsert();
+        long filas = ContadorJdbc.filasInsert();
+        Pedido creado = pedidoService.realizarPedido(pedido);
+        sentencias.viajesInsert += ContadorJdbc.viajesInsert() - viajes;
+        sentencias.filasInsert += ContadorJdbc.filasInsert() - filas;
+        pedidos++;
+        return creado;
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        System.out.printf("%nitems=%d: %.1f INSERT en %.1f viajes JDBC por pedido%n", items,
+            (ContadorJdbc.filasInsert() - filasInicio) / (double) pedidos,
+            (ContadorJdbc.viajesInsert() - viajesInicio) / (double) pedidos);
+        contexto.close();
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.demo.bench;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+
+/**
+ * Añade una espera fija a cada ejecución de sentencia para simular el viaje de
+ * red a MySQL: con H2 en memoria las consultas no bloquean y los hilos
+ * virtuales no tendrían nada que aprovechar.
+ */
+public final class LatenciaJdbc {
+
+    private LatenciaJdbc() {}
+
+    public static DataSource envolver(DataSource dataSource, long latenciaMs) {
+        return proxy(DataSource.class, dataSource, latenciaMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> tipo, T destino, long latenciaMs) {
+        InvocationHandler manejador = (proxy, metodo, args) -> {
+            if (metodo.getName().startsWith("execute")) {
+                Thread.sleep(latenciaMs);
+            }
+            Object resultado;
+            try {
+                resultado = metodo.invoke(destino, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (resultado instanceof Connection conexion) {
+                return proxy(Connection.class, conexion, latenciaMs);
+            }
+            if (resultado instanceof Statement sentencia && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                return proxy(metodo.getReturnType().asSubclass(Statement.class), sentencia, latenciaMs);
+            }
+            return resultado;
+        };
+        return (T) Proxy.newProxyInstance(LatenciaJdbc.class.getClassLoader(), new Class<?>[] {tipo}, manejador);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.bench;
+
+import com.example.demo.PedidoService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prueba de carga HTTP: arranca la aplicación en modo "plataforma" (Tomcat con
+ * su pool de hilos) y luego con el perfil "virtual" (hilos virtuales + limitador
+ * de conexiones), y en cada modo mantiene N clientes concurrentes pidiendo
+ * páginas y pedidos sueltos durante un tiempo fijo.
+ *     mvn -B -f benchmarks/pom.xml exec:exec -Pcarga [-Dcarga.clientes=1000 -Dcarga.segundos=30 -Dcarga.latencia-ms=5]
+ * Los clientes usan HttpClient asíncrono, así que 1000+ clientes no necesitan
+ * 1000 hilos. Cada sentencia SQL espera latencia-ms para simular la red hasta
+ * MySQL. Los hilos virtuales requieren ejecutar con Java 21+; en Java 17 el
+ * modo "virtual" solo mide el efecto del limitador. Resultado en JSON en
+ * target/carga-result.json.
+ */
+public final class PruebaCarga {
+
+    private static final int PEDIDOS = 200;
+
+    private static final int CALENTAMIENTO_SEGUNDOS = 5;
+
+    private PruebaCarga() {}
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        long latenciaMs = args.length > 2 ? Long.parseLong(args[2]) : 5;
+        String salida = args.length > 3 ? args[3] : "target/carga-result.json";
+
+        List<Map<String, Object>> resultados = new ArrayList<>();
+        resultados.add(ejecutar("plataforma", clientes, segundos, latenciaMs));
+        resultados.add(ejecutar("virtual", clientes, segundos, latenciaMs, "spring.profiles.active=virtual"));
+
+        System.out.printf("%n%-12s %8s %10s %8s %8s %8s %8s %8s%n", "Modo", "Clientes", "Peticiones", "Errores",
+            "Req/s", "p50 ms", "p99 ms", "Máx ms");
+        for (Map<String, Object> r : resultados) {
+            System.out.printf("%-12s %8d %10d %8d %8.0f %8.1f %8.1f %8.1f%n", r.get("modo"), r.get("clientes"),
+                r.get("peticiones"), r.get("errores"), r.get("peticionesPorSegundo"), r.get("p50Ms"), r.get("p99Ms"), r.get("maxMs"));
+        }
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(new File(salida), resultados);
+    }
+
+    private static Map<String, Object> ejecutar(String modo, int clientes, int segundos, long latenciaMs,
+                                                String... propiedades) throws InterruptedException {
+        List<String> props = new ArrayList<>(Arrays.asList(propiedades));
+        props.add("bench.latencia-ms=" + latenciaMs);
+        ConfigurableApplicationContext contexto = ContextoBenchmark.iniciar(props.toArray(String[]::new));
+        try {
+            PedidoService pedidoService = contexto.getBean(PedidoService.class);
+            int primerId = pedidoService.realizarPedido(Datos.solicitud(3)).getId();
+            for (int i = 1; i < PEDIDOS; i++) {
+                pedidoService.realizarPedido(Datos.solicitud(1 + i % 5));
+            }
+            String base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+
+            System.out.printf("%n▶ Modo %s: %d clientes, %d s (+%d s de calentamiento), %d ms por sentencia%n",
+                modo, clientes, segundos, CALENTAMIENTO_SEGUNDOS, latenciaMs);
+            Medicion medicion = new Medicion();
+            cargar(base, primerId, clientes, CALENTAMIENTO_SEGUNDOS, new Medicion());
+            cargar(base, primerId, clientes, segundos, medicion);
+
+            Map<String, Object> resultado = new LinkedHashMap<>();
+            resultado.put("modo", modo);
+            resultado.put("java", Runtime.version().feature());
+            resultado.put("clientes", clientes);
+            resultado.put("segundos", segundos);
+            resultado.put("latenciaMs", latenciaMs);
+            resultado.put("peticiones", medicion.peticiones());
+            resultado.put("errores", medicion.errores.get());
+            resultado.put("peticionesPorSegundo", medicion.peticiones() / (double) segundos);
+            resultado.put("p50Ms", medicion.percentil(0.50));
+            resultado.put("p99Ms", medicion.percentil(0.99));
+            resultado.put("maxMs", medicion.percentil(1.0));
+            return resultado;
+        } finally {
+            contexto.close();
+        }
+    }
+
+    private static void cargar(String base, int primerId, int clientes, int segundos, Medicion medicion)
+            throws InterruptedException {
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        CountDownLatch terminados = new CountDownLatch(clientes);
+        for (int i = 0; i < clientes; i++) {
+            siguiente(http, base, primerId, fin, medicion, terminados);
+        }
+        terminados.await();
+    }
+
+    // Cada cliente encadena su siguiente petición al terminar la anterior
+    private static void siguiente(HttpClient http, String base, int primerId, long fin, Medicion medicion,
+                                  CountDownLatch terminados) {
+        if (System.nanoTime() >= fin) {
+            terminados.countDown();
+            return;
+        }
+        ThreadLocalRandom azar = ThreadLocalRandom.current();
+        String ruta = azar.nextBoolean()
+            ? "/api/pedidos/pagina?tamano=20&despuesDe=" + (primerId + azar.nextInt(PEDIDOS))
+            : "/api/pedidos/" + (primerId + azar.nextInt(PEDIDOS));
+        HttpRequest peticion = HttpRequest.newBuilder(URI.create(base + ruta)).timeout(Duration.ofSeconds(60)).build();
+        long inicio = System.nanoTime();
+        http.sendAsync(peticion, HttpResponse.BodyHandlers.discarding()).whenComplete((respuesta, error) -> {
+            medicion.registrar(System.nanoTime() - inicio, error == null && respuesta.statusCode() == 200);
+            siguiente(http, base, primerId, fin, medicion, terminados);
+        });
+    }
+
+    private static final class Medicion {
+        private long[] duraciones = new long[1 << 16];
+        private int cantidad;
+        private final AtomicLong errores = new AtomicLong();
+
+        synchronized void registrar(long nanos, boolean correcta) {
+            if (!correcta) {
+                errores.incrementAndGet();
+            }
+            if (cantidad == duraciones.length) {
+                duraciones = Arrays.copyOf(duraciones, cantidad * 2);
+            }
+            duraciones[cantidad++] = nanos;
+        }
+
+        synchronized long peticiones() {
+            return cantidad;
+        }
+
+        synchronized double percentil(double p) {
+            if (cantidad == 0) {
+                return 0;
+            }
+            long[] ordenadas = Arrays.copyOf(duraciones, cantidad);
+            Arrays.sort(ordenadas);
+            int indice = (int) Math.min(cantidad - 1, Math.ceil(p * cantidad) - 1);
+            return ordenadas[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+}
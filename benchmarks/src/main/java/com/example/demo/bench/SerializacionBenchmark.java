@@ -0,0 +1,72 @@
+package com.example.demo.bench;
+
+import com.example.demo.Factura;
+import com.example.demo.Pedido;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson sobre los grafos que devuelven GET /api/pedidos y GET /api/facturas:
+ * un pedido con sus items y platos, su factura y una página de 50 pedidos.
+ * El ObjectMapper se configura como el de Spring Boot (fechas ISO, módulos JSR-310).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private ObjectMapper objectMapper;
+
+    private Pedido pedido;
+
+    private Factura factura;
+
+    private List<Pedido> pagina;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pedido = Datos.pedido(1, items);
+        factura = Datos.factura(pedido);
+        pagina = new ArrayList<>();
+        for (int id = 1; id <= 50; id++) {
+            pagina.add(Datos.pedido(id, items));
+        }
+    }
+
+    @Benchmark
+    public byte[] pedido() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+
+    @Benchmark
+    public byte[] factura() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(factura);
+    }
+
+    @Benchmark
+    public byte[] paginaDePedidos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.bench;
+
+import com.example.demo.ItemPedido;
+import com.example.demo.Pedido;
+import com.example.demo.PedidoRepository;
+import com.example.demo.PedidoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total de una factura. bucle/stream reproducen el cálculo en memoria que hacía
+ * FacturaService.saveFactura sobre items ya cargados; sumaEnBaseDeDatos es
+ * PedidoRepository.calcularTotal, que es lo que usa ahora (sin cargar items).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TotalFacturaBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int items;
+
+    private Pedido pedido;
+
+    @Setup
+    public void iniciar() {
+        pedido = Datos.pedido(1, items);
+    }
+
+    @State(Scope.Benchmark)
+    public static class BaseDeDatos {
+        private ConfigurableApplicationContext contexto;
+        private PedidoRepository pedidoRepository;
+        private Integer pedidoId;
+
+        @Setup(Level.Trial)
+        public void iniciar(TotalFacturaBenchmark benchmark) {
+            contexto = ContextoBenchmark.iniciar();
+            pedidoRepository = contexto.getBean(PedidoRepository.class);
+            pedidoId = contexto.getBean(PedidoService.class).realizarPedido(Datos.solicitud(benchmark.items)).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            contexto.close();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bucle() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (ItemPedido item : pedido.getItems()) {
+            BigDecimal subtotal = item.getPrecioUnitario()
+                    .multiply(new BigDecimal(item.getCantidad()));
+            total = total.add(subtotal);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal stream() {
+        return pedido.getItems().stream()
+            .map(item -> item.getPrecioUnitario().multiply(BigDecimal.valueOf(item.getCantidad())))
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal sumaEnBaseDeDatos(BaseDeDatos baseDeDatos) {
+        return baseDeDatos.pedidoRepository.calcularTotal(baseDeDatos.pedidoId);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.bench;
+
+import com.example.demo.PasswordHashingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Verificación de contraseña de UsuarioService.login por coste BCrypt:
+ * directa con el encoder y a través del pool de PasswordHashingService,
+ * para ver cuánto añade el salto de hilo frente al propio hash.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VerificacionBcryptBenchmark {
+
+    @Param({"10", "12"})
+    public int fuerza;
+
+    private BCryptPasswordEncoder encoder;
+
+    private PasswordHashingService passwordHashing;
+
+    private String hash;
+
+    @Setup
+    public void iniciar() {
+        encoder = new BCryptPasswordEncoder(fuerza);
+        passwordHashing = new PasswordHashingService(encoder, fuerza, 1, 64, 1);
+        hash = encoder.encode("contraseña-de-prueba");
+    }
+
+    @Benchmark
+    public boolean directa() {
+        return encoder.matches("contraseña-de-prueba", hash);
+    }
+
+    @Benchmark
+    public boolean conPool() {
+        return passwordHashing.verificar("contraseña-de-prueba", hash).join();
+    }
+
+    @TearDown
+    public void cerrar() {
+        passwordHashing.cerrar();
+    }
+}
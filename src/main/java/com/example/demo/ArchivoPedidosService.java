@@ -0,0 +1,191 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Archivo de pedidos antiguos (tablas pedidos_archivo e item_pedido_archivo).
+ * Una tarea nocturna mueve los pedidos FINALIZADO ya facturados y con más de
+ * pedidos.archivo.antiguedad-dias días, por lotes acotados: cada lote copia y
+ * borra en la misma transacción y toma sus filas con FOR UPDATE SKIP LOCKED, así
+ * que cortar el proceso o lanzarlo en varias instancias no duplica ni pierde nada.
+ * Las lecturas que lo piden (incluirArchivo=true) añaden los pedidos archivados,
+ * reconstruidos como Pedido con la misma forma JSON.
+ */
+@Service
+public class ArchivoPedidosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchivoPedidosService.class);
+
+    private static final String CANDIDATOS = "select p.id from pedidos p "
+        + "where p.estado = 'FINALIZADO' and p.fecha < :limite "
+        + "and exists (select 1 from facturas f where f.pedido_id = p.id) "
+        + "order by p.id limit :lote for update skip locked";
+
+    private static final String[] MOVER = {
+        "insert into pedidos_archivo (id, fecha, es_domicilio, estado, version, cliente_doc, archivado) "
+            + "select id, fecha, es_domicilio, estado, version, cliente_doc, :ahora from pedidos where id in (:ids)",
+        "insert into item_pedido_archivo (id, pedido_id, plato_id, cantidad, precio_unitario) "
+            + "select id, pedido_id, plato_id, cantidad, precio_unitario from item_pedido where pedido_id in (:ids)",
+        "delete from item_pedido where pedido_id in (:ids)",
+        "delete from pedidos where id in (:ids)"};
+
+    private static final String LEER = "select p.id, p.fecha, p.es_domicilio, p.estado, p.version, p.cliente_doc, "
+        + "i.id as item_id, i.plato_id, i.cantidad, i.precio_unitario "
+        + "from pedidos_archivo p left join item_pedido_archivo i on i.pedido_id = p.id ";
+
+    private static final String RESUMENES = "select id, fecha, es_domicilio, estado, version "
+        + "from pedidos_archivo where id in (:ids)";
+
+    private record ItemLeido(ItemPedido item, int platoId) {}
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PlatoRepository platoRepository;
+
+    private final int antiguedadDias;
+
+    private final int tamanoLote;
+
+    private final int maximoLotes;
+
+    private final Counter archivados;
+
+    public ArchivoPedidosService(MeterRegistry registry,
+                                 @Value("${pedidos.archivo.antiguedad-dias:90}") int antiguedadDias,
+                                 @Value("${pedidos.archivo.tamano-lote:500}") int tamanoLote,
+                                 @Value("${pedidos.archivo.lotes-por-ejecucion:20}") int maximoLotes) {
+        this.antiguedadDias = antiguedadDias;
+        this.tamanoLote = tamanoLote;
+        this.maximoLotes = maximoLotes;
+        this.archivados = Counter.builder("pedidos.archivados")
+            .description("Pedidos movidos a pedidos_archivo")
+            .register(registry);
+    }
+
+    /** Archiva hasta lotes-por-ejecucion lotes; devuelve los pedidos movidos. */
+    @Scheduled(cron = "${pedidos.archivo.cron:0 30 3 * * *}")
+    public int archivar() {
+        LocalDateTime limite = LocalDateTime.now().minusDays(antiguedadDias);
+        long inicio = System.currentTimeMillis();
+        int total = 0;
+        for (int lote = 0; lote < maximoLotes; lote++) {
+            int movidos = transactionTemplate.execute(status -> archivarLote(limite));
+            total += movidos;
+            if (movidos < tamanoLote) {
+                break;
+            }
+        }
+        if (total > 0) {
+            logger.info("🗄️ {} pedidos anteriores a {} archivados en {} ms", total, limite, System.currentTimeMillis() - inicio);
+        }
+        return total;
+    }
+
+    private int archivarLote(LocalDateTime limite) {
+        List<Integer> ids = jdbcTemplate.queryForList(CANDIDATOS, new MapSqlParameterSource()
+            .addValue("limite", Timestamp.valueOf(limite))
+            .addValue("lote", tamanoLote), Integer.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource parametros = new MapSqlParameterSource()
+            .addValue("ids", ids)
+            .addValue("ahora", Timestamp.valueOf(LocalDateTime.now()));
+        for (String sentencia : MOVER) {
+            jdbcTemplate.update(sentencia, parametros);
+        }
+        archivados.increment(ids.size());
+        return ids.size();
+    }
+
+    public List<Pedido> findByClienteDoc(String documento) {
+        return leer("where p.cliente_doc = :valor", documento);
+    }
+
+    public List<Pedido> findById(Integer id) {
+        return leer("where p.id = :valor", id);
+    }
+
+    /**
+     * Datos de cabecera (sin items ni cliente) de los pedidos archivados con esos ids,
+     * para completar las facturas de los listados. Los ids que no están en el archivo
+     * no aparecen en el mapa.
+     */
+    public Map<Integer, FacturaResumenDTO.PedidoResumen> findResumenes(List<Integer> ids) {
+        Map<Integer, FacturaResumenDTO.PedidoResumen> resumenes = new HashMap<>();
+        // Por lotes de tamano-lote: un listado con muchas facturas archivadas no arma un IN enorme
+        for (int desde = 0; desde < ids.size(); desde += tamanoLote) {
+            List<Integer> lote = ids.subList(desde, Math.min(desde + tamanoLote, ids.size()));
+            jdbcTemplate.query(RESUMENES, Map.of("ids", lote), rs -> {
+                int id = rs.getInt("id");
+                resumenes.put(id, new FacturaResumenDTO.PedidoResumen(id, rs.getTimestamp("fecha").toLocalDateTime(),
+                    rs.getBoolean("es_domicilio"), Estado.valueOf(rs.getString("estado")), rs.getLong("version"), true));
+            });
+        }
+        return resumenes;
+    }
+
+    // Pedido e items se arman como en las tablas activas; cliente y platos salen de la caché de segundo nivel
+    private List<Pedido> leer(String filtro, Object valor) {
+        Map<Integer, Pedido> pedidos = new LinkedHashMap<>();
+        List<ItemLeido> items = new ArrayList<>();
+        jdbcTemplate.query(LEER + filtro + " order by p.id, i.id", Map.of("valor", valor), rs -> {
+            int id = rs.getInt("id");
+            Pedido pedido = pedidos.get(id);
+            if (pedido == null) {
+                pedido = new Pedido();
+                pedido.setId(id);
+                pedido.setFecha(rs.getTimestamp("fecha").toLocalDateTime());
+                pedido.setEsDomicilio(rs.getBoolean("es_domicilio"));
+                pedido.setEstado(Estado.valueOf(rs.getString("estado")));
+                pedido.setVersion(rs.getLong("version"));
+                pedido.setCliente(usuarioRepository.findById(rs.getString("cliente_doc")).orElse(null));
+                pedido.setItems(new ArrayList<>());
+                pedidos.put(id, pedido);
+            }
+            int itemId = rs.getInt("item_id");
+            if (!rs.wasNull()) {
+                ItemPedido item = new ItemPedido(rs.getInt("cantidad"), rs.getBigDecimal("precio_unitario"), pedido, null);
+                item.setId(itemId);
+                pedido.getItems().add(item);
+                items.add(new ItemLeido(item, rs.getInt("plato_id")));
+            }
+        });
+        if (!items.isEmpty()) {
+            Set<Integer> platoIds = items.stream().map(ItemLeido::platoId).collect(Collectors.toSet());
+            Map<Integer, Plato> platos = platoRepository.findAllById(platoIds).stream()
+                .collect(Collectors.toMap(Plato::getId, Function.identity()));
+            // Un plato ya borrado queda en null, igual que su fila en el archivo sin clave foránea
+            items.forEach(leido -> leido.item().setPlato(platos.get(leido.platoId())));
+        }
+        return new ArrayList<>(pedidos.values());
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Elige la fuerza de BCrypt según lo que tarda un hash en esta máquina.
+ * Mide la fuerza base y extrapola (cada punto de fuerza duplica el coste),
+ * quedándose con la mayor fuerza que no supere el objetivo.
+ */
+public final class BcryptCalibrador {
+
+    private static final Logger logger = LoggerFactory.getLogger(BcryptCalibrador.class);
+
+    static final int FUERZA_MINIMA = 10;
+
+    static final int FUERZA_MAXIMA = 16;
+
+    private static final int MEDICIONES = 3;
+
+    private BcryptCalibrador() {}
+
+    public static int calibrar(long objetivoMs) {
+        BCryptPasswordEncoder base = new BCryptPasswordEncoder(FUERZA_MINIMA);
+        base.encode("calentamiento");
+
+        long mejorNanos = Long.MAX_VALUE;
+        for (int i = 0; i < MEDICIONES; i++) {
+            long inicio = System.nanoTime();
+            base.encode("calibracion-" + i);
+            mejorNanos = Math.min(mejorNanos, System.nanoTime() - inicio);
+        }
+
+        double msBase = mejorNanos / 1_000_000.0;
+        int fuerza = FUERZA_MINIMA;
+        while (fuerza < FUERZA_MAXIMA && msBase * (1L << (fuerza + 1 - FUERZA_MINIMA)) <= objetivoMs) {
+            fuerza++;
+        }
+        logger.info("🔐 BCrypt calibrado: fuerza {} (~{} ms por hash, objetivo {} ms)",
+            fuerza, Math.round(msBase * (1L << (fuerza - FUERZA_MINIMA))), objetivoMs);
+        return fuerza;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo;
+
+/**
+ * El cambio de estado no se aplicó: la transición no está permitida desde el
+ * estado actual o el pedido cambió entretanto (otra petición ganó la carrera).
+ */
+public class ConflictoEstadoException extends RuntimeException {
+
+    public ConflictoEstadoException(String mensaje) {
+        super(mensaje);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.demo;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Cuenta las sentencias SQL que Hibernate ejecuta en el hilo actual.
+ * Se registra con hibernate.session_factory.statement_inspector; el filtro
+ * PresupuestoConsultasFilter abre y cierra la cuenta de cada petición y, en
+ * modo rechazar, fija un límite a partir del cual la siguiente sentencia
+ * falla con PresupuestoConsultasExcedidoException.
+ */
+public class ContadorConsultas implements StatementInspector {
+
+    private static final class Cuenta {
+        int total;
+        int limite = -1;
+    }
+
+    private static final ThreadLocal<Cuenta> CUENTA = ThreadLocal.withInitial(Cuenta::new);
+
+    @Override
+    public String inspect(String sql) {
+        Cuenta cuenta = CUENTA.get();
+        cuenta.total++;
+        if (cuenta.limite >= 0 && cuenta.total > cuenta.limite) {
+            throw new PresupuestoConsultasExcedidoException(cuenta.limite);
+        }
+        return sql;
+    }
+
+    /** Empieza una cuenta nueva en este hilo; limite < 0 solo cuenta. */
+    public static void iniciar(int limite) {
+        Cuenta cuenta = CUENTA.get();
+        cuenta.total = 0;
+        cuenta.limite = limite;
+    }
+
+    public static int total() {
+        return CUENTA.get().total;
+    }
+
+    // Los hilos de Tomcat se reutilizan: el límite de una petición no debe quedar en el siguiente
+    public static void terminar() {
+        CUENTA.remove();
+    }
+}
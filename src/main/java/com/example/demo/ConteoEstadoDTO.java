@@ -0,0 +1,32 @@
+package com.example.demo;
+
+// Fila del GROUP BY estado, esDomicilio del tablero: pedidos de hoy y total
+public class ConteoEstadoDTO {
+    private final Estado estado;
+    private final Boolean esDomicilio;
+    private final long hoy;
+    private final long total;
+
+    public ConteoEstadoDTO(Estado estado, Boolean esDomicilio, Long hoy, Long total) {
+        this.estado = estado;
+        this.esDomicilio = esDomicilio;
+        this.hoy = hoy != null ? hoy : 0;
+        this.total = total;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public Boolean getEsDomicilio() {
+        return esDomicilio;
+    }
+
+    public long getHoy() {
+        return hoy;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.demo;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * DataSource que deja pasar como mucho N conexiones a la vez (N = tamaño del
+ * pool de Hikari). Con hilos virtuales puede haber miles de peticiones
+ * esperando base de datos: esperan aquí, en un Semaphore justo que no bloquea
+ * hilos de plataforma, en lugar de amontonarse en la cola de Hikari. El permiso
+ * se devuelve al cerrar la conexión.
+ */
+public class DataSourceLimitado extends DelegatingDataSource {
+
+    private final Semaphore permisos;
+
+    private final int maximo;
+
+    private final long esperaMaximaMs;
+
+    public DataSourceLimitado(DataSource destino, int maximo, long esperaMaximaMs) {
+        super(destino);
+        this.maximo = maximo;
+        this.permisos = new Semaphore(maximo, true);
+        this.esperaMaximaMs = esperaMaximaMs;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        adquirir();
+        try {
+            return liberarAlCerrar(super.getConnection(usuario, contrasena));
+        } catch (SQLException | RuntimeException e) {
+            permisos.release();
+            throw e;
+        }
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public int getEnUso() {
+        return maximo - permisos.availablePermits();
+    }
+
+    public int getEnEspera() {
+        return permisos.getQueueLength();
+    }
+
+    private void adquirir() throws SQLException {
+        try {
+            if (!permisos.tryAcquire(esperaMaximaMs, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException(
+                    "Sin conexión disponible tras " + esperaMaximaMs + " ms (" + getEnEspera() + " en espera)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrumpido esperando una conexión", e);
+        }
+    }
+
+    private Connection liberarAlCerrar(Connection conexion) {
+        AtomicBoolean cerrada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, metodo, args) -> {
+                if (metodo.getName().equals("close") && cerrada.compareAndSet(false, true)) {
+                    try {
+                        conexion.close();
+                    } finally {
+                        permisos.release();
+                    }
+                    return null;
+                }
+                try {
+                    return metodo.invoke(conexion, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            });
+    }
+}
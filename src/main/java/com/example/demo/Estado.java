@@ -1,9 +1,38 @@
 package com.example.demo;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum Estado {
 	
 	PENDIENTE,
 	PREPARACION,
-	FINALIZADO
+	FINALIZADO;
+
+	// Transiciones permitidas: estado actual → estados siguientes
+	private static final Map<Estado, Set<Estado>> TRANSICIONES = new EnumMap<>(Estado.class);
+
+	static {
+		TRANSICIONES.put(PENDIENTE, EnumSet.of(PREPARACION));
+		TRANSICIONES.put(PREPARACION, EnumSet.of(FINALIZADO));
+		TRANSICIONES.put(FINALIZADO, EnumSet.noneOf(Estado.class));
+	}
+
+	public boolean puedePasarA(Estado destino) {
+		return TRANSICIONES.get(this).contains(destino);
+	}
+
+	// Estados desde los que se puede llegar a este
+	public Set<Estado> origenes() {
+		Set<Estado> origenes = EnumSet.noneOf(Estado.class);
+		TRANSICIONES.forEach((origen, destinos) -> {
+			if (destinos.contains(this)) {
+				origenes.add(origen);
+			}
+		});
+		return origenes;
+	}
 
 }
@@ -4,6 +4,7 @@ package com.example.demo;
 
 public class EstadoUpdateDTO {
     private Estado estado;
+    private Long version; // Opcional: si viene, el cambio solo se aplica sobre esa versión
 
     // Constructor vacío (requerido por Jackson)
     public EstadoUpdateDTO() {}
@@ -21,4 +22,12 @@ public class EstadoUpdateDTO {
     public void setEstado(Estado estado) {
         this.estado = estado;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
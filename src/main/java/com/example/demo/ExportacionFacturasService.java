@@ -0,0 +1,211 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.jpa.HibernateHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Exportación de facturas por rango de fechas en CSV o NDJSON, escrita fila a fila
+ * desde un cursor de solo avance, así que la memoria no depende del tamaño del rango.
+ * Se leen proyecciones FacturaResumenDTO (las del listado), no entidades, así que
+ * el contexto de persistencia no crece ni hay que separar nada mientras se recorre.
+ * facturas.exportacion.tamano-fetch va como fetch size a la sentencia: con MySQL,
+ * Integer.MIN_VALUE hace que el driver entregue cada fila según llega del servidor,
+ * sin cargar el resultado (un cursor de servidor con useCursorFetch lo copiaría
+ * antes a una tabla temporal y la primera fila tardaría tanto como la última).
+ * Otras bases de datos necesitan un valor positivo.
+ */
+@Service
+public class ExportacionFacturasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExportacionFacturasService.class);
+
+    // Siempre con segundos: LocalDateTime.toString() omite los que son cero y cambia el ancho de la columna
+    static final DateTimeFormatter FORMATO_FECHA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+
+    public enum Formato {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String tipo;
+        private final String extension;
+
+        Formato(String tipo, String extension) {
+            this.tipo = tipo;
+            this.extension = extension;
+        }
+
+        public String getTipo() {
+            return tipo;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private static final String CONSULTA = FacturaRepository.SELECT_RESUMEN
+        + "where f.fecha >= :desde and f.fecha < :hasta order by f.fecha, f.id";
+
+    private static final String CABECERA_CSV = "factura_id,fecha,total,pedido_id,pedido_fecha,es_domicilio,estado,"
+        + "usuario_documento,usuario_nombre,usuario_telefono,usuario_direccion\n";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate lectura;
+
+    private final int tamanoFetch;
+
+    private final MeterRegistry registry;
+
+    public ExportacionFacturasService(PlatformTransactionManager transactionManager, MeterRegistry registry,
+                                      @Value("${facturas.exportacion.tamano-fetch:-2147483648}") int tamanoFetch) {
+        this.lectura = new TransactionTemplate(transactionManager);
+        this.lectura.setReadOnly(true);
+        this.tamanoFetch = tamanoFetch;
+        this.registry = registry;
+    }
+
+    /** Escribe las facturas de desde a hasta (ambos días incluidos); devuelve cuántas escribió. */
+    public long exportar(LocalDate desde, LocalDate hasta, Formato formato, OutputStream salida) throws IOException {
+        long inicio = System.currentTimeMillis();
+        long filas;
+        try {
+            filas = lectura.execute(status -> {
+                Supplier<Stream<FacturaResumenDTO>> consulta = () -> entityManager.createQuery(CONSULTA, FacturaResumenDTO.class)
+                    .setParameter("desde", desde.atStartOfDay())
+                    .setParameter("hasta", hasta.plusDays(1).atStartOfDay())
+                    .setHint(HibernateHints.HINT_FETCH_SIZE, tamanoFetch)
+                    .getResultStream();
+                try {
+                    return formato == Formato.CSV ? escribirCsv(consulta, salida) : escribirNdjson(consulta, salida);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Casi siempre el cliente cortó la descarga; la transacción y el cursor ya se cerraron
+            logger.warn("⚠️ Exportación de facturas {} a {} interrumpida: {}", desde, hasta, e.getCause().getMessage());
+            throw e.getCause();
+        }
+        registry.counter("facturas.exportadas", "formato", formato.getExtension()).increment(filas);
+        logger.info("📤 {} facturas de {} a {} exportadas en {} en {} ms",
+            filas, desde, hasta, formato, System.currentTimeMillis() - inicio);
+        return filas;
+    }
+
+    private long escribirCsv(Supplier<Stream<FacturaResumenDTO>> consulta, OutputStream salida) throws IOException {
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(salida, StandardCharsets.UTF_8), 64 * 1024);
+        escritor.write(CABECERA_CSV);
+        // La cabecera sale antes de lanzar la consulta
+        escritor.flush();
+        long filas = 0;
+        try (Stream<FacturaResumenDTO> facturas = consulta.get()) {
+            for (FacturaResumenDTO factura : (Iterable<FacturaResumenDTO>) facturas::iterator) {
+                FacturaResumenDTO.PedidoResumen pedido = factura.getPedido();
+                FacturaResumenDTO.UsuarioResumen usuario = factura.getUsuario();
+                escritor.write(String.valueOf(factura.getId()));
+                escritor.write(',');
+                escribirFecha(escritor, factura.getFecha());
+                escritor.write(',');
+                escritor.write(factura.getTotal().toPlainString());
+                escritor.write(',');
+                // El id siempre; el resto del pedido queda vacío si está archivado
+                escritor.write(String.valueOf(factura.getPedidoId()));
+                escritor.write(',');
+                escribirFecha(escritor, pedido != null ? pedido.getFecha() : null);
+                escritor.write(',');
+                escritor.write(pedido != null ? String.valueOf(pedido.getEsDomicilio()) : "");
+                escritor.write(',');
+                escritor.write(pedido != null ? String.valueOf(pedido.getEstado()) : "");
+                escritor.write(',');
+                escribirTexto(escritor, usuario.getDocumento());
+                escritor.write(',');
+                escribirTexto(escritor, usuario.getNombre());
+                escritor.write(',');
+                escribirTexto(escritor, usuario.getTelefono());
+                escritor.write(',');
+                escribirTexto(escritor, usuario.getDireccion());
+                escritor.write('\n');
+                filas++;
+            }
+        }
+        escritor.flush();
+        return filas;
+    }
+
+    static void escribirFecha(Writer escritor, LocalDateTime fecha) throws IOException {
+        if (fecha != null) {
+            FORMATO_FECHA.formatTo(fecha, escritor);
+        }
+    }
+
+    // RFC 4180: entre comillas si lleva separador, comillas o saltos de línea. Un texto que
+    // empieza por = + - @ se antepone con ' para que la hoja de cálculo no lo evalúe como fórmula
+    static void escribirTexto(Writer escritor, String texto) throws IOException {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        String valor = "=+-@\t\r".indexOf(texto.charAt(0)) >= 0 ? "'" + texto : texto;
+        boolean comillas = valor.indexOf(',') >= 0 || valor.indexOf('"') >= 0
+            || valor.indexOf('\n') >= 0 || valor.indexOf('\r') >= 0;
+        if (!comillas) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    private long escribirNdjson(Supplier<Stream<FacturaResumenDTO>> consulta, OutputStream salida) throws IOException {
+        // Sin vaciar tras cada valor: el generador escribe en su búfer y lo vacía al llenarse
+        ObjectWriter escritor = objectMapper.writerFor(FacturaResumenDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long filas = 0;
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(salida, JsonEncoding.UTF8);
+             Stream<FacturaResumenDTO> facturas = consulta.get()) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Cada objeto termina en su propio salto de línea; sin el espacio que Jackson pone entre valores raíz
+            json.setRootValueSeparator(null);
+            for (FacturaResumenDTO factura : (Iterable<FacturaResumenDTO>) facturas::iterator) {
+                escritor.writeValue(json, factura);
+                json.writeRaw('\n');
+                // La primera línea sale en cuanto llega; el resto, al llenarse el búfer
+                if (filas++ == 0) {
+                    json.flush();
+                }
+            }
+        }
+        return filas;
+    }
+}
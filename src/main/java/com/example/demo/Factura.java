@@ -4,12 +4,16 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import jakarta.persistence.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.NotFound;
+import org.hibernate.annotations.NotFoundAction;
 
 @Entity
 @Table(name = "facturas")
 public class Factura {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "facturas_ids")
+    @TableGenerator(name = "facturas_ids", table = "id_generador", pkColumnName = "entidad",
+        valueColumnName = "siguiente", pkColumnValue = "facturas", allocationSize = GeneradorIds.BLOQUE)
     private Long id;
 
     @Column(nullable = false, precision = 10, scale = 2)
@@ -19,11 +23,18 @@ public class Factura {
     private LocalDateTime fecha = LocalDateTime.now();
 
     // ✅ CAMBIO 1: Usar EAGER para cargar siempre
+    // Sin clave foránea: el pedido puede estar archivado (ArchivoPedidosService) y entonces queda en null
     @OneToOne(fetch = FetchType.EAGER)
+    @NotFound(action = NotFoundAction.IGNORE)
     @JoinColumn(name = "pedido_id", nullable = false, unique = true)
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "items", "cliente", "factura"})
     private Pedido pedido;
 
+    // La misma columna, de solo lectura: con @NotFound, filtrar por pedido.id obliga a un join con
+    // pedidos y las facturas de pedidos archivados no aparecerían (ver FacturaRepository)
+    @Column(name = "pedido_id", insertable = false, updatable = false)
+    private Integer pedidoId;
+
     // ✅ CAMBIO 2: Usar EAGER para cargar siempre
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "usuario_doc", nullable = false)
@@ -52,6 +63,10 @@ public class Factura {
     
     public Pedido getPedido() { return pedido; }
     public void setPedido(Pedido pedido) { this.pedido = pedido; }
+
+    // Siempre presente, también cuando pedido es null por estar archivado. La columna es
+    // de solo lectura: en una factura recién creada sale del pedido asociado
+    public Integer getPedidoId() { return pedidoId != null ? pedidoId : pedido != null ? pedido.getId() : null; }
     
     public Usuario getUsuario() { return usuario; }
     public void setUsuario(Usuario usuario) { this.usuario = usuario; }
@@ -5,12 +5,18 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -21,28 +27,67 @@ public class FacturaController {
 	@Autowired
 	private FacturaService facturaService;
 
+	@Autowired
+	private FacturacionMasivaService facturacionMasivaService;
+
+	@Autowired
+	private ExportacionFacturasService exportacionFacturasService;
+
 	@GetMapping
 	@Transactional(readOnly = true)
 	@Operation(summary = "Obtener todas las facturas", description = "Devuelve una lista completa de todas las facturas generadas en el sistema. "
-			+ "Incluye información del pedido asociado y el usuario que realizó la transacción.")
+			+ "Incluye información del pedido asociado y el usuario que realizó la transacción. Si el pedido ya está archivado, "
+			+ "pedido sale de pedidos_archivo con archivado=true (sin items); pedidoId va siempre.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Lista de facturas obtenida exitosamente"),
 			@ApiResponse(responseCode = "500", description = "Error interno del servidor al procesar la solicitud") })
-	public ResponseEntity<List<Factura>> getAllFacturas() {
-		List<Factura> facturas = facturaService.findAllFacturas();
+	public ResponseEntity<List<FacturaResumenDTO>> getAllFacturas() {
+		List<FacturaResumenDTO> facturas = facturaService.findAllFacturas();
 		return ResponseEntity.ok(facturas);
 	}
 
+	@GetMapping(value = "/exportar", produces = { "text/csv", "application/x-ndjson" })
+	@Operation(summary = "Exportar facturas por rango de fechas", description = "Descarga las facturas del rango (ambos días incluidos) "
+			+ "en CSV o NDJSON, ordenadas por fecha. Se escriben a medida que se leen de la base de datos, así que la descarga "
+			+ "empieza enseguida y el consumo de memoria no depende de cuántas facturas haya. De los pedidos ya archivados solo "
+			+ "se incluye el ID (pedido_id en CSV, pedidoId en NDJSON).")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Archivo con las facturas del rango"),
+			@ApiResponse(responseCode = "400", description = "Rango de fechas o formato inválido") })
+	public void exportarFacturas(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Primer día", example = "2025-01-01") LocalDate desde,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Último día", example = "2025-01-31") LocalDate hasta,
+			@RequestParam(defaultValue = "csv") @Parameter(description = "csv o ndjson", example = "csv") String formato,
+			HttpServletResponse response) throws IOException {
+		ExportacionFacturasService.Formato tipo;
+		try {
+			tipo = ExportacionFacturasService.Formato.valueOf(formato.toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException e) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
+		if (desde.isAfter(hasta)) {
+			response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+			return;
+		}
+		response.setStatus(HttpServletResponse.SC_OK);
+		response.setContentType(tipo.getTipo());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"facturas_" + desde + "_" + hasta + "." + tipo.getExtension() + "\"");
+		exportacionFacturasService.exportar(desde, hasta, tipo, response.getOutputStream());
+	}
+
 	// ✅ ELIMINADO: @GetMapping("/codigo/{codigo}") getFacturaByCodigo
 
 	@GetMapping("/documento/{documento}")
 	@Transactional(readOnly = true)
 	@Operation(summary = "Obtener facturas por documento de usuario", description = "Devuelve todas las facturas asociadas a un usuario específico mediante su número de documento. "
-			+ "Útil para que los clientes consulten su historial de compras.")
+			+ "Útil para que los clientes consulten su historial de compras. Los pedidos ya archivados vienen con archivado=true "
+			+ "(sin items); pedidoId va siempre.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Facturas del usuario encontradas"),
 			@ApiResponse(responseCode = "404", description = "El usuario no tiene facturas registradas o no existe") })
-	public ResponseEntity<List<Factura>> getFacturasByUsuario(
+	public ResponseEntity<List<FacturaResumenDTO>> getFacturasByUsuario(
 			@PathVariable @Parameter(description = "Número de documento del usuario", example = "111") String documento) {
-		List<Factura> facturas = facturaService.findAllFacturasByUsuarioDoc(documento);
+		List<FacturaResumenDTO> facturas = facturaService.findAllFacturasByUsuarioDoc(documento);
 		if (facturas.isEmpty()) {
 			return ResponseEntity.notFound().build();
 		}
@@ -52,7 +97,8 @@ public class FacturaController {
 	@GetMapping("/pedido/{pedidoId}/usuario/{documento}")
 	@Transactional(readOnly = true)
 	@Operation(summary = "Obtener factura por pedido y usuario", description = "Busca una factura específica utilizando el ID del pedido y el documento del usuario. "
-			+ "Este endpoint es útil para verificar si un pedido ya tiene factura generada.")
+			+ "Este endpoint es útil para verificar si un pedido ya tiene factura generada. Si el pedido está archivado, pedido "
+			+ "es null y se obtiene con GET /api/pedidos/{pedidoId}?incluirArchivo=true.")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Factura encontrada exitosamente"),
 			@ApiResponse(responseCode = "404", description = "No existe factura para la combinación de pedido y usuario especificada") })
 	public ResponseEntity<Factura> getFacturaPorPedido(
@@ -65,7 +111,8 @@ public class FacturaController {
 	@GetMapping("/codigo/{facturaId}/usuario/{documento}")
 	@Transactional(readOnly = true)
 	@Operation(summary = "Obtener factura por ID de factura y usuario", description = "Busca una factura específica mediante su ID único y valida que pertenezca al usuario especificado. "
-			+ "Proporciona una capa adicional de seguridad al verificar la propiedad de la factura.")
+			+ "Proporciona una capa adicional de seguridad al verificar la propiedad de la factura. Si el pedido está archivado, "
+			+ "pedido es null y se obtiene con GET /api/pedidos/{pedidoId}?incluirArchivo=true.")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "Factura encontrada y validada correctamente"),
 			@ApiResponse(responseCode = "404", description = "La factura no existe o no pertenece al usuario especificado") })
@@ -76,6 +123,32 @@ public class FacturaController {
 				.orElse(ResponseEntity.notFound().build());
 	}
 
+	@PostMapping("/masiva")
+	@Operation(summary = "Facturar todos los pedidos finalizados", description = "Inicia en segundo plano la facturación de todos los pedidos "
+			+ "en estado FINALIZADO que aún no tienen factura. Se procesa por lotes; cada lote se confirma por separado, "
+			+ "así que si el proceso se detiene, volver a lanzarlo continúa con los pedidos pendientes.")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "202", description = "Proceso iniciado. Retorna el progreso inicial"),
+			@ApiResponse(responseCode = "400", description = "Tamaño de lote inválido"),
+			@ApiResponse(responseCode = "409", description = "Ya hay una facturación masiva en curso") })
+	public ResponseEntity<ProgresoFacturacionDTO> facturarFinalizados(
+			@RequestParam(defaultValue = "500") @Parameter(description = "Pedidos por lote", example = "500") int tamanoLote) {
+		if (tamanoLote < 1 || tamanoLote > 5000) {
+			return ResponseEntity.badRequest().build();
+		}
+		if (!facturacionMasivaService.iniciar(tamanoLote)) {
+			return new ResponseEntity<>(facturacionMasivaService.getProgreso(), HttpStatus.CONFLICT);
+		}
+		return new ResponseEntity<>(facturacionMasivaService.getProgreso(), HttpStatus.ACCEPTED);
+	}
+
+	@GetMapping("/masiva")
+	@Operation(summary = "Progreso de la facturación masiva", description = "Devuelve lotes confirmados, facturas creadas y el último pedido procesado")
+	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Progreso obtenido") })
+	public ResponseEntity<ProgresoFacturacionDTO> getProgresoFacturacion() {
+		return ResponseEntity.ok(facturacionMasivaService.getProgreso());
+	}
+
 	@PostMapping
 	@Transactional
 	@Operation(summary = "Crear una nueva factura", description = "Genera una nueva factura para un pedido específico. El sistema calcula automáticamente "
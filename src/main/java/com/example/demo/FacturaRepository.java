@@ -1,6 +1,8 @@
 package com.example.demo;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -8,9 +10,19 @@ import java.util.Optional;
 @Repository
 public interface FacturaRepository extends JpaRepository<Factura, Long> {  // ✅ Cambió de String a Long
     
-    List<Factura> findByUsuarioDocumento(String documento);
-
     Optional<Factura> findByPedidoIdAndUsuarioDocumento(int pedidoId, String documento);
 
     Optional<Factura> findByIdAndUsuarioDocumento(Long id, String documento);
+
+    // Listados: solo las columnas que salen en el JSON, en una sentencia y sin entidades gestionadas
+    String SELECT_RESUMEN = "select new com.example.demo.FacturaResumenDTO(f.id, f.total, f.fecha, "
+        + "f.pedidoId, p.id, p.fecha, p.esDomicilio, p.estado, p.version, "
+        + "u.documento, u.nombre, u.telefono, u.direccion, u.usuario, u.rol) "
+        + "from Factura f left join f.pedido p join f.usuario u ";
+
+    @Query(SELECT_RESUMEN + "order by f.id")
+    List<FacturaResumenDTO> findResumenes();
+
+    @Query(SELECT_RESUMEN + "where u.documento = :documento order by f.id")
+    List<FacturaResumenDTO> findResumenesByUsuarioDocumento(@Param("documento") String documento);
 }
@@ -0,0 +1,146 @@
+package com.example.demo;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Factura para los listados, con la misma forma JSON que la entidad (pedido sin
+ * items ni cliente, usuario sin contraseña) pero construida directamente desde
+ * una consulta: una sola sentencia y nada queda en el contexto de persistencia.
+ * pedidoId va siempre; pedido sale del join con pedidos y, si el pedido ya está
+ * archivado, lo completa FacturaService desde pedidos_archivo (archivado true).
+ */
+public class FacturaResumenDTO {
+    private final Long id;
+    private final BigDecimal total;
+    private final LocalDateTime fecha;
+    private final Integer pedidoId;
+    private PedidoResumen pedido;
+    private final UsuarioResumen usuario;
+
+    // Constructores (orden de columnas de FacturaRepository.findResumenes*)
+    public FacturaResumenDTO(Long id, BigDecimal total, LocalDateTime fecha,
+                             Integer pedidoId, Integer pedidoActivo, LocalDateTime pedidoFecha, Boolean esDomicilio, Estado estado, Long version,
+                             String documento, String nombre, String telefono, String direccion, String usuario, Rol rol) {
+        this.id = id;
+        this.total = total;
+        this.fecha = fecha;
+        this.pedidoId = pedidoId;
+        // Sin fila en pedidos (archivado) el join deja las columnas del pedido en null
+        this.pedido = pedidoActivo != null ? new PedidoResumen(pedidoActivo, pedidoFecha, esDomicilio, estado, version, false) : null;
+        this.usuario = new UsuarioResumen(documento, nombre, telefono, direccion, usuario, rol);
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public Integer getPedidoId() {
+        return pedidoId;
+    }
+
+    public PedidoResumen getPedido() {
+        return pedido;
+    }
+
+    void setPedido(PedidoResumen pedido) {
+        this.pedido = pedido;
+    }
+
+    public UsuarioResumen getUsuario() {
+        return usuario;
+    }
+
+    public static class PedidoResumen {
+        private final Integer id;
+        private final LocalDateTime fecha;
+        private final Boolean esDomicilio;
+        private final Estado estado;
+        private final Long version;
+        private final boolean archivado;
+
+        public PedidoResumen(Integer id, LocalDateTime fecha, Boolean esDomicilio, Estado estado, Long version, boolean archivado) {
+            this.id = id;
+            this.fecha = fecha;
+            this.esDomicilio = esDomicilio;
+            this.estado = estado;
+            this.version = version;
+            this.archivado = archivado;
+        }
+
+        public Integer getId() {
+            return id;
+        }
+
+        public LocalDateTime getFecha() {
+            return fecha;
+        }
+
+        public Boolean getEsDomicilio() {
+            return esDomicilio;
+        }
+
+        public Estado getEstado() {
+            return estado;
+        }
+
+        public Long getVersion() {
+            return version;
+        }
+
+        public boolean isArchivado() {
+            return archivado;
+        }
+    }
+
+    public static class UsuarioResumen {
+        private final String documento;
+        private final String nombre;
+        private final String telefono;
+        private final String direccion;
+        private final String usuario;
+        private final Rol rol;
+
+        public UsuarioResumen(String documento, String nombre, String telefono, String direccion, String usuario, Rol rol) {
+            this.documento = documento;
+            this.nombre = nombre;
+            this.telefono = telefono;
+            this.direccion = direccion;
+            this.usuario = usuario;
+            this.rol = rol;
+        }
+
+        public String getDocumento() {
+            return documento;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public String getTelefono() {
+            return telefono;
+        }
+
+        public String getDireccion() {
+            return direccion;
+        }
+
+        public String getUsuario() {
+            return usuario;
+        }
+
+        public Rol getRol() {
+            return rol;
+        }
+    }
+}
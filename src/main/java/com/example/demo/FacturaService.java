@@ -1,11 +1,16 @@
 package com.example.demo;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -20,14 +25,39 @@ public class FacturaService {
     @Autowired
     private UsuarioRepository usuarioRepository;
 
-    public List<Factura> findAllFacturas() {
-        return facturaRepository.findAll();
+    @Autowired
+    private ResumenVentasService resumenVentasService;
+
+    @Autowired
+    private ArchivoPedidosService archivoPedidosService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public List<FacturaResumenDTO> findAllFacturas() {
+        return completarArchivados(facturaRepository.findResumenes());
     }
 
     // ✅ ELIMINADO: public Optional<Factura> findByCodigo(String codigo)
 
-    public List<Factura> findAllFacturasByUsuarioDoc(String documento) {
-        return facturaRepository.findByUsuarioDocumento(documento);
+    public List<FacturaResumenDTO> findAllFacturasByUsuarioDoc(String documento) {
+        return completarArchivados(facturaRepository.findResumenesByUsuarioDocumento(documento));
+    }
+
+    // El join con pedidos deja pedido en null si el pedido ya se archivó: se completa
+    // desde pedidos_archivo con una consulta por lote, solo si hay alguno
+    private List<FacturaResumenDTO> completarArchivados(List<FacturaResumenDTO> facturas) {
+        List<Integer> archivados = facturas.stream()
+            .filter(factura -> factura.getPedido() == null)
+            .map(FacturaResumenDTO::getPedidoId)
+            .toList();
+        if (!archivados.isEmpty()) {
+            Map<Integer, FacturaResumenDTO.PedidoResumen> pedidos = archivoPedidosService.findResumenes(archivados);
+            facturas.stream()
+                .filter(factura -> factura.getPedido() == null)
+                .forEach(factura -> factura.setPedido(pedidos.get(factura.getPedidoId())));
+        }
+        return facturas;
     }
 
     public Optional<Factura> findByPedidoIdAndUsuarioDoc(int pedidoId, String documento) {
@@ -47,12 +77,8 @@ public class FacturaService {
         Usuario usuario = usuarioRepository.findById(usuarioDoc)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado con documento: " + usuarioDoc));
 
-        BigDecimal total = BigDecimal.ZERO;
-        for (ItemPedido item : pedido.getItems()) {
-            BigDecimal subtotal = item.getPrecioUnitario()
-                    .multiply(new BigDecimal(item.getCantidad()));
-            total = total.add(subtotal);
-        }
+        // El total se suma en la base de datos, sin cargar items ni platos
+        BigDecimal total = pedidoRepository.calcularTotal(pedidoId);
 
         Factura factura = new Factura();
         factura.setUsuario(usuario);
@@ -60,7 +86,34 @@ public class FacturaService {
         factura.setTotal(total);
         factura.setFecha(LocalDateTime.now());
 
-        return facturaRepository.save(factura);
+        Factura guardada = facturaRepository.save(factura);
+        resumenVentasService.registrar(List.of(guardada.getId()));
+        return guardada;
     }
-}
 
+    /**
+     * Crea las facturas de pedidos ya totalizados (ver PedidoRepository.findTotalesSinFacturar*)
+     * dentro de la transacción en curso: con ids reservados por bloques Hibernate
+     * las envía en un solo batch. Lo usan la facturación masiva y la automática.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int crearFacturas(List<TotalPedidoDTO> totales) {
+        if (totales.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime fecha = LocalDateTime.now();
+        List<Long> facturaIds = new ArrayList<>(totales.size());
+        for (TotalPedidoDTO total : totales) {
+            Factura factura = new Factura();
+            factura.setPedido(entityManager.getReference(Pedido.class, total.getPedidoId()));
+            factura.setUsuario(entityManager.getReference(Usuario.class, total.getClienteDoc()));
+            factura.setTotal(total.getTotal());
+            factura.setFecha(fecha);
+            entityManager.persist(factura);
+            facturaIds.add(factura.getId());
+        }
+        entityManager.flush();
+        resumenVentasService.registrar(facturaIds);
+        return totales.size();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Facturación automática con una bandeja de salida (tabla facturas_pendientes).
+ * encolar() se llama dentro de la transacción que pasa el pedido a FINALIZADO, así
+ * que la fila existe si y solo si el cambio de estado se confirmó. Un proceso
+ * periódico la convierte en factura por lotes y la borra en la misma transacción.
+ * Es idempotente: los pedidos que ya tienen factura (POST /api/facturas, facturación
+ * masiva u otra instancia) o que ya no existen solo se quitan de la bandeja.
+ * Las filas se toman con FOR UPDATE SKIP LOCKED, así varias instancias no se pisan.
+ * Si un lote falla se reintenta fila a fila y la que vuelve a fallar se aplaza con
+ * espera exponencial, sin bloquear al resto.
+ */
+@Service
+public class FacturacionAutomaticaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacturacionAutomaticaService.class);
+
+    private static final String VENCIDAS = "select id, pedido_id, creado, intentos from facturas_pendientes "
+        + "where proximo_intento <= ? order by id limit ?";
+
+    private static final String BLOQUEO = " for update skip locked";
+
+    private static final RowMapper<Pendiente> PENDIENTE = (rs, fila) -> new Pendiente(
+        rs.getLong("id"), rs.getInt("pedido_id"), rs.getTimestamp("creado").toLocalDateTime(), rs.getInt("intentos"));
+
+    private record Pendiente(long id, int pedidoId, LocalDateTime creado, int intentos) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private FacturaService facturaService;
+
+    private final int tamanoLote;
+
+    private final long reintentoInicialMs;
+
+    private final long reintentoMaximoMs;
+
+    private final Counter procesadas;
+
+    private final Counter fallos;
+
+    private final Timer demora;
+
+    // Los actualiza cada pasada del proceso; los gauges no consultan la base de datos
+    private volatile long pendientes;
+
+    private volatile LocalDateTime masAntigua;
+
+    public FacturacionAutomaticaService(MeterRegistry registry,
+                                        @Value("${facturas.automaticas.tamano-lote:100}") int tamanoLote,
+                                        @Value("${facturas.automaticas.reintento-inicial-ms:5000}") long reintentoInicialMs,
+                                        @Value("${facturas.automaticas.reintento-maximo-ms:600000}") long reintentoMaximoMs) {
+        this.tamanoLote = tamanoLote;
+        this.reintentoInicialMs = reintentoInicialMs;
+        this.reintentoMaximoMs = reintentoMaximoMs;
+        this.procesadas = Counter.builder("facturas.automaticas.procesadas")
+            .description("Filas de facturas_pendientes resueltas (factura creada o ya existente)")
+            .register(registry);
+        this.fallos = Counter.builder("facturas.automaticas.fallos")
+            .description("Intentos fallidos de facturar un pedido pendiente")
+            .register(registry);
+        this.demora = Timer.builder("facturas.automaticas.demora")
+            .description("Tiempo desde que el pedido se finaliza hasta que queda facturado")
+            .register(registry);
+        Gauge.builder("facturas.automaticas.pendientes", this, s -> s.pendientes)
+            .description("Filas en facturas_pendientes")
+            .register(registry);
+        Gauge.builder("facturas.automaticas.retraso", this, FacturacionAutomaticaService::retrasoSegundos)
+            .description("Antigüedad en segundos de la fila pendiente más antigua")
+            .baseUnit("seconds")
+            .register(registry);
+    }
+
+    /** Deja el pedido en la bandeja; debe llamarse en la transacción que lo finaliza. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void encolar(Integer pedidoId) {
+        Timestamp ahora = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("insert into facturas_pendientes (pedido_id, creado, intentos, proximo_intento) "
+            + "values (?, ?, 0, ?)", pedidoId, ahora, ahora);
+    }
+
+    @Scheduled(fixedDelayString = "${facturas.automaticas.intervalo-ms:1000}")
+    public void procesar() {
+        int resueltas;
+        do {
+            try {
+                resueltas = transactionTemplate.execute(status ->
+                    facturar(jdbcTemplate.query(VENCIDAS + BLOQUEO, PENDIENTE, ahora(), tamanoLote)));
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ Falló un lote de facturas pendientes, se reintenta pedido a pedido: {}", e.getMessage());
+                procesarUnoAUno();
+                resueltas = 0;
+            }
+        } while (resueltas == tamanoLote);
+        actualizarEstado();
+    }
+
+    private void procesarUnoAUno() {
+        for (Pendiente candidata : jdbcTemplate.query(VENCIDAS, PENDIENTE, ahora(), tamanoLote)) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> facturar(jdbcTemplate.query(
+                    "select id, pedido_id, creado, intentos from facturas_pendientes where id = ?" + BLOQUEO,
+                    PENDIENTE, candidata.id())));
+            } catch (RuntimeException e) {
+                aplazar(candidata, e);
+            }
+        }
+    }
+
+    // Crea las facturas que falten y quita las filas de la bandeja; devuelve cuántas filas resolvió
+    private int facturar(List<Pendiente> lote) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+        List<TotalPedidoDTO> totales = pedidoRepository.findTotalesSinFacturarByIdIn(
+            lote.stream().map(Pendiente::pedidoId).toList());
+        int creadas = facturaService.crearFacturas(totales);
+        jdbcTemplate.batchUpdate("delete from facturas_pendientes where id = ?",
+            lote.stream().map(pendiente -> new Object[] {pendiente.id()}).toList());
+
+        LocalDateTime ahora = LocalDateTime.now();
+        lote.forEach(pendiente -> demora.record(Duration.between(pendiente.creado(), ahora)));
+        procesadas.increment(lote.size());
+        if (creadas > 0) {
+            logger.info("🧾 {} facturas automáticas creadas ({} pedidos pendientes resueltos)", creadas, lote.size());
+        }
+        return lote.size();
+    }
+
+    private void aplazar(Pendiente pendiente, RuntimeException error) {
+        fallos.increment();
+        long esperaMs = Math.min(reintentoMaximoMs, reintentoInicialMs << Math.min(pendiente.intentos(), 20));
+        String mensaje = String.valueOf(error.getMessage());
+        logger.error("❌ No se pudo facturar el pedido #{} (intento {}), nuevo intento en {} s: {}",
+            pendiente.pedidoId(), pendiente.intentos() + 1, esperaMs / 1000, mensaje);
+        jdbcTemplate.update("update facturas_pendientes set intentos = intentos + 1, proximo_intento = ?, "
+                + "ultimo_error = ? where id = ?",
+            Timestamp.valueOf(LocalDateTime.now().plus(Duration.ofMillis(esperaMs))),
+            mensaje.substring(0, Math.min(mensaje.length(), 500)), pendiente.id());
+    }
+
+    private void actualizarEstado() {
+        jdbcTemplate.query("select count(*), min(creado) from facturas_pendientes", rs -> {
+            pendientes = rs.getLong(1);
+            Timestamp creado = rs.getTimestamp(2);
+            masAntigua = creado == null ? null : creado.toLocalDateTime();
+        });
+    }
+
+    private double retrasoSegundos() {
+        LocalDateTime creado = masAntigua;
+        return creado == null ? 0 : Math.max(0, Duration.between(creado, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+
+    private static Timestamp ahora() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
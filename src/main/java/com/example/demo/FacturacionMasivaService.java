@@ -0,0 +1,145 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Factura en lotes todos los pedidos FINALIZADO que aún no tienen factura.
+ * Los totales salen de una consulta agregada y las facturas se insertan con
+ * batch JDBC (ids por bloques, ver GeneradorIds), un lote por transacción.
+ * Como la consulta excluye los pedidos ya facturados, relanzar el proceso tras
+ * un fallo continúa desde el último lote confirmado. Si mientras tanto otra
+ * factura del mismo pedido se confirma (POST /api/facturas, la facturación
+ * automática u otra instancia), la unicidad de facturas.pedido_id deshace el
+ * lote; se vuelve a consultar, ya sin ese pedido, y se reintenta.
+ */
+@Service
+public class FacturacionMasivaService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FacturacionMasivaService.class);
+
+    private static final int INTENTOS_POR_LOTE = 5;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private FacturaService facturaService;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "facturacion-masiva");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+
+    private volatile ProgresoFacturacionDTO progreso = new ProgresoFacturacionDTO();
+
+    private record Lote(int facturas, Integer ultimoPedidoId) {}
+
+    public ProgresoFacturacionDTO getProgreso() {
+        return progreso;
+    }
+
+    /** Lanza el proceso en segundo plano; false si ya hay uno en curso. */
+    public boolean iniciar(int tamanoLote) {
+        if (!enCurso.compareAndSet(false, true)) {
+            return false;
+        }
+        progreso = new ProgresoFacturacionDTO(true, LocalDateTime.now(), null, 0, 0, null, null);
+        executor.execute(() -> {
+            try {
+                facturarTodo(tamanoLote);
+            } finally {
+                enCurso.set(false);
+            }
+        });
+        return true;
+    }
+
+    private void facturarTodo(int tamanoLote) {
+        ProgresoFacturacionDTO actual = progreso;
+        int despuesDe = 0;
+        try {
+            while (true) {
+                int cursor = despuesDe;
+                Lote lote = facturarLote(cursor, tamanoLote);
+                if (lote.facturas() == 0) {
+                    break;
+                }
+                despuesDe = lote.ultimoPedidoId();
+                actual = new ProgresoFacturacionDTO(true, actual.getInicio(), null,
+                    actual.getLotesConfirmados() + 1, actual.getFacturasCreadas() + lote.facturas(), despuesDe, null);
+                progreso = actual;
+                logger.info("🧾 Lote {} facturado: {} facturas, último pedido #{}",
+                    actual.getLotesConfirmados(), lote.facturas(), despuesDe);
+            }
+            progreso = new ProgresoFacturacionDTO(false, actual.getInicio(), LocalDateTime.now(),
+                actual.getLotesConfirmados(), actual.getFacturasCreadas(), actual.getUltimoPedidoId(), null);
+            logger.info("✅ Facturación masiva terminada: {} facturas", actual.getFacturasCreadas());
+        } catch (RuntimeException e) {
+            logger.error("❌ Facturación masiva detenida tras el pedido #{}: {}", actual.getUltimoPedidoId(), e.getMessage(), e);
+            progreso = new ProgresoFacturacionDTO(false, actual.getInicio(), LocalDateTime.now(),
+                actual.getLotesConfirmados(), actual.getFacturasCreadas(), actual.getUltimoPedidoId(), e.getMessage());
+        }
+    }
+
+    private Lote facturarLote(int despuesDe, int tamanoLote) {
+        for (int intento = 1; ; intento++) {
+            try {
+                return transactionTemplate.execute(status -> facturarLoteEnTransaccion(despuesDe, tamanoLote));
+            } catch (RuntimeException e) {
+                if (!esFacturaDuplicada(e) || intento == INTENTOS_POR_LOTE) {
+                    throw e;
+                }
+                logger.warn("⚠️ El lote tras el pedido #{} chocó con una factura creada a la vez, se vuelve a consultar (intento {})",
+                    despuesDe, intento);
+            }
+        }
+    }
+
+    private Lote facturarLoteEnTransaccion(int despuesDe, int tamanoLote) {
+        List<TotalPedidoDTO> totales = pedidoRepository.findTotalesSinFacturar(despuesDe, PageRequest.of(0, tamanoLote));
+        if (totales.isEmpty()) {
+            return new Lote(0, null);
+        }
+        facturaService.crearFacturas(totales);
+        entityManager.clear();
+        return new Lote(totales.size(), totales.get(totales.size() - 1).getPedidoId());
+    }
+
+    private static boolean esFacturaDuplicada(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException || causa instanceof DataIntegrityViolationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdownNow();
+    }
+}
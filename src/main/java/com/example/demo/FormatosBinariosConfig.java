@@ -0,0 +1,34 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR y Smile como alternativas binarias al JSON, elegidas con el encabezado Accept
+ * (y Content-Type para los cuerpos que se reciben). Los ObjectMapper salen del
+ * Jackson2ObjectMapperBuilder de Spring Boot, igual que el de JSON, así que la forma
+ * de cada respuesta (fechas, @JsonIgnoreProperties, etc.) es la misma en los tres.
+ * Spring Boot los coloca detrás del convertidor JSON: sin Accept, o con
+ * Accept: *&#47;*, se sigue respondiendo JSON.
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter convertidorCbor(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter convertidorSmile(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
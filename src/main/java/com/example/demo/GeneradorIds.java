@@ -0,0 +1,66 @@
+package com.example.demo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pedido, ItemPedido y Factura reservan ids por bloques (hi-lo) en la tabla
+ * id_generador en vez de usar AUTO_INCREMENT, que impide el batch de inserts.
+ * Al arrancar se deja cada contador por encima del id más alto ya guardado,
+ * para que las tablas creadas con IDENTITY sigan funcionando.
+ */
+@Component
+public class GeneradorIds {
+
+    private static final Logger logger = LoggerFactory.getLogger(GeneradorIds.class);
+
+    /** Ids que reserva cada instancia por viaje a id_generador. */
+    public static final int BLOQUE = 50;
+
+    // entidad del generador → tabla cuyos ids reserva
+    private static final Map<String, String> TABLAS = Map.of(
+        "pedidos", "pedidos",
+        "item_pedido", "item_pedido",
+        "facturas", "facturas");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Se inyecta para que el esquema (incluida id_generador) exista antes de ajustar los contadores
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void ajustarContadores() {
+        TABLAS.forEach(this::ajustar);
+    }
+
+    private void ajustar(String entidad, String tabla) {
+        long minimo = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabla, Long.class) + 1;
+        List<Long> actual = jdbcTemplate.queryForList(
+            "select siguiente from id_generador where entidad = ?", Long.class, entidad);
+        if (actual.isEmpty()) {
+            try {
+                jdbcTemplate.update("insert into id_generador (entidad, siguiente) values (?, ?)", entidad, minimo);
+            } catch (DuplicateKeyException e) {
+                // Otra instancia lo insertó a la vez; se ajusta abajo
+                ajustar(entidad, tabla);
+                return;
+            }
+        } else if (actual.get(0) < minimo) {
+            jdbcTemplate.update("update id_generador set siguiente = ? where entidad = ? and siguiente < ?",
+                minimo, entidad, minimo);
+        } else {
+            return;
+        }
+        logger.info("🔢 Generador de ids '{}' ajustado a {}", entidad, minimo);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo;
+
+/**
+ * El pool de hashing de contraseñas está lleno; el cliente debe reintentar
+ * después de getReintentarEnSegundos().
+ */
+public class HashingSaturadoException extends RuntimeException {
+
+    private final long reintentarEnSegundos;
+
+    public HashingSaturadoException(long reintentarEnSegundos) {
+        super("Demasiadas operaciones de contraseña en curso");
+        this.reintentarEnSegundos = reintentarEnSegundos;
+    }
+
+    public long getReintentarEnSegundos() {
+        return reintentarEnSegundos;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.demo;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre nombre y descripción de los platos, inmutable:
+ * MenuCatalogo lo construye con cada carga del catálogo y las búsquedas lo leen sin
+ * sincronización ni base de datos.
+ * Los términos se normalizan quitando tildes y mayúsculas ("atún" = "atun") y cada
+ * uno se indexa también en una forma romaji simplificada, para que las distintas
+ * transliteraciones del japonés coincidan: "shoyu"/"shouyu"/"syoyu",
+ * "tempura"/"tenpura", "tsukemen"/"tukemen", "chashu"/"tyasyu".
+ * Cada palabra de la consulta se busca como prefijo ("ram" encuentra "ramen") y
+ * todas deben aparecer; el orden lo da la suma de pesos (el nombre pesa más que la
+ * descripción, la coincidencia exacta más que la de prefijo, y los términos raros
+ * más que los que están en casi todos los platos).
+ */
+public final class IndiceMenu {
+
+    private static final double PESO_NOMBRE = 3.0;
+
+    private static final double PESO_DESCRIPCION = 1.0;
+
+    // Una coincidencia por prefijo vale menos que la palabra completa
+    private static final double FACTOR_PREFIJO = 0.6;
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> VACIAS = Set.of(
+        "a", "al", "con", "de", "del", "el", "en", "la", "las", "los", "o", "para", "por", "sin", "un", "una", "y");
+
+    // Kunrei/Nihon-shiki y Hepburn a una sola forma; el orden importa (sílabas largas primero)
+    private static final String[][] ROMAJI = {
+        {"sha", "sya"}, {"shu", "syu"}, {"sho", "syo"}, {"shi", "si"},
+        {"cha", "tya"}, {"chu", "tyu"}, {"cho", "tyo"}, {"chi", "ti"},
+        {"ja", "zya"}, {"ju", "zyu"}, {"jo", "zyo"}, {"ji", "zi"},
+        {"tsu", "tu"}, {"fu", "hu"},
+        {"ou", "o"}, {"oo", "o"}, {"uu", "u"}, {"aa", "a"}, {"ii", "i"}, {"ee", "e"},
+        {"mb", "nb"}, {"mp", "np"}, {"mm", "nm"}};
+
+    /** Un plato ya tokenizado: peso de cada término y los textos de los que salió. */
+    private record Documento(Plato plato, String nombre, String descripcion, Map<String, Double> pesos) {}
+
+    private record Resultado(Plato plato, double puntaje) {}
+
+    private final Map<Integer, Documento> documentos;
+
+    // término → (id de plato → peso); ordenado para recorrer los prefijos con subMap
+    private final NavigableMap<String, Map<Integer, Double>> terminos;
+
+    private IndiceMenu(Map<Integer, Documento> documentos) {
+        this.documentos = documentos;
+        TreeMap<String, Map<Integer, Double>> terminos = new TreeMap<>();
+        for (Documento documento : documentos.values()) {
+            documento.pesos().forEach((termino, peso) ->
+                terminos.computeIfAbsent(termino, t -> new HashMap<>()).put(documento.plato().getId(), peso));
+        }
+        this.terminos = terminos;
+    }
+
+    /**
+     * Construye el índice de los platos dados. Los platos cuyo nombre y descripción
+     * no cambiaron respecto a {@code anterior} reutilizan sus términos, así que tras
+     * una escritura solo se vuelve a tokenizar el plato modificado.
+     */
+    public static IndiceMenu construir(Collection<Plato> platos, IndiceMenu anterior) {
+        Map<Integer, Documento> documentos = new HashMap<>();
+        for (Plato plato : platos) {
+            Documento previo = anterior != null ? anterior.documentos.get(plato.getId()) : null;
+            Map<String, Double> pesos = previo != null
+                    && previo.nombre().equals(String.valueOf(plato.getNombre()))
+                    && previo.descripcion().equals(String.valueOf(plato.getDescripcion()))
+                ? previo.pesos()
+                : tokenizar(plato);
+            documentos.put(plato.getId(), new Documento(plato, String.valueOf(plato.getNombre()),
+                String.valueOf(plato.getDescripcion()), pesos));
+        }
+        return new IndiceMenu(documentos);
+    }
+
+    /** Platos que contienen todas las palabras de la consulta, del más al menos relevante. */
+    public List<Plato> buscar(String consulta, int limite) {
+        Map<Integer, Double> puntajes = null;
+        for (String palabra : palabras(consulta)) {
+            Map<Integer, Double> coincidencias = coincidencias(palabra);
+            // "ramen de miso": las palabras vacías no se indexan, así que no pueden filtrar
+            if (VACIAS.contains(palabra)) {
+                if (puntajes != null) {
+                    puntajes.replaceAll((id, puntaje) -> puntaje + coincidencias.getOrDefault(id, 0.0));
+                }
+                continue;
+            }
+            if (puntajes == null) {
+                puntajes = coincidencias;
+            } else {
+                puntajes.keySet().retainAll(coincidencias.keySet());
+                puntajes.replaceAll((id, puntaje) -> puntaje + coincidencias.get(id));
+            }
+            if (puntajes.isEmpty()) {
+                return List.of();
+            }
+        }
+        if (puntajes == null) {
+            return List.of();
+        }
+        List<Resultado> resultados = new ArrayList<>(puntajes.size());
+        puntajes.forEach((id, puntaje) -> resultados.add(new Resultado(documentos.get(id).plato(), puntaje)));
+        resultados.sort(Comparator.comparingDouble(Resultado::puntaje).reversed()
+            .thenComparing(resultado -> resultado.plato().getId()));
+        return resultados.stream().limit(limite).map(Resultado::plato).toList();
+    }
+
+    // Mejor puntaje de cada plato para una palabra, probando su forma normal y la romaji
+    private Map<Integer, Double> coincidencias(String palabra) {
+        Map<Integer, Double> puntajes = new HashMap<>();
+        for (String clave : variantes(palabra)) {
+            for (Map.Entry<String, Map<Integer, Double>> termino : terminos.subMap(clave, true, clave + Character.MAX_VALUE, false).entrySet()) {
+                double factor = termino.getKey().length() == clave.length() ? 1.0 : FACTOR_PREFIJO;
+                double rareza = Math.log(1.0 + (double) documentos.size() / termino.getValue().size());
+                termino.getValue().forEach((id, peso) -> puntajes.merge(id, peso * factor * rareza, Math::max));
+            }
+        }
+        return puntajes;
+    }
+
+    private static Map<String, Double> tokenizar(Plato plato) {
+        Map<String, Double> pesos = new HashMap<>();
+        agregar(pesos, plato.getNombre(), PESO_NOMBRE);
+        agregar(pesos, plato.getDescripcion(), PESO_DESCRIPCION);
+        return Map.copyOf(pesos);
+    }
+
+    private static void agregar(Map<String, Double> pesos, String texto, double peso) {
+        for (String palabra : palabras(texto)) {
+            if (VACIAS.contains(palabra)) {
+                continue;
+            }
+            for (String clave : variantes(palabra)) {
+                pesos.merge(clave, peso, Math::max);
+            }
+        }
+    }
+
+    static List<String> palabras(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normal = MARCAS.matcher(Normalizer.normalize(texto.toLowerCase(Locale.ROOT), Normalizer.Form.NFD))
+            .replaceAll("")
+            .replace("'", "");
+        List<String> palabras = new ArrayList<>();
+        for (String palabra : SEPARADORES.split(normal)) {
+            if (!palabra.isEmpty()) {
+                palabras.add(palabra);
+            }
+        }
+        return palabras;
+    }
+
+    // La palabra tal cual y su forma romaji simplificada (si es distinta)
+    static Set<String> variantes(String palabra) {
+        String romaji = palabra;
+        for (String[] regla : ROMAJI) {
+            romaji = romaji.replace(regla[0], regla[1]);
+        }
+        Set<String> variantes = new LinkedHashSet<>(2);
+        variantes.add(palabra);
+        variantes.add(romaji);
+        return variantes;
+    }
+}
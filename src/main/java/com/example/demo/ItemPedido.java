@@ -9,7 +9,9 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 @Table(name = "item_pedido")
 public class ItemPedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "item_pedido_ids")
+    @TableGenerator(name = "item_pedido_ids", table = "id_generador", pkColumnName = "entidad",
+        valueColumnName = "siguiente", pkColumnValue = "item_pedido", allocationSize = GeneradorIds.BLOQUE)
     private Integer id;
 
     @Column(nullable = false)
@@ -0,0 +1,25 @@
+package com.example.demo;
+
+/**
+ * Marca el hilo actual para que sus lecturas vayan a la base primaria aunque la
+ * transacción sea readOnly (ver ReplicasDataSource). Lo activa LecturaPropiaFilter
+ * cuando el cliente acaba de escribir y las réplicas podrían no tener aún su cambio.
+ */
+public final class LecturaPrimaria {
+
+    private static final ThreadLocal<Boolean> FORZADA = new ThreadLocal<>();
+
+    private LecturaPrimaria() {}
+
+    public static void forzar() {
+        FORZADA.set(Boolean.TRUE);
+    }
+
+    public static boolean forzada() {
+        return FORZADA.get() != null;
+    }
+
+    public static void limpiar() {
+        FORZADA.remove();
+    }
+}
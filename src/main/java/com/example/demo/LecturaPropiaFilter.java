@@ -0,0 +1,68 @@
+package com.example.demo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * "Leer lo propio": tras una escritura (POST/PUT/PATCH/DELETE) se envía la cookie
+ * leer-primaria durante unos segundos, y mientras el cliente la devuelva (o mande
+ * la cabecera X-Leer-Primaria: true) sus lecturas van a la primaria en lugar de a
+ * una réplica que quizá aún no tiene el pedido que acaba de crear.
+ */
+public class LecturaPropiaFilter extends OncePerRequestFilter {
+
+    static final String COOKIE = "leer-primaria";
+
+    static final String CABECERA = "X-Leer-Primaria";
+
+    private final int ventanaSegundos;
+
+    public LecturaPropiaFilter(int ventanaSegundos) {
+        this.ventanaSegundos = ventanaSegundos;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (esEscritura(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setMaxAge(ventanaSegundos);
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        } else if (pideLecturaPrimaria(request)) {
+            LecturaPrimaria.forzar();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            LecturaPrimaria.limpiar();
+        }
+    }
+
+    private static boolean esEscritura(String metodo) {
+        return switch (metodo) {
+            case "POST", "PUT", "PATCH", "DELETE" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean pideLecturaPrimaria(HttpServletRequest request) {
+        if ("true".equalsIgnoreCase(request.getHeader(CABECERA))) {
+            return true;
+        }
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
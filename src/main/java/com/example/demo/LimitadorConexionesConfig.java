@@ -0,0 +1,84 @@
+package com.example.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Activa DataSourceLimitado (perfil "virtual", ver application-virtual.properties).
+ * El límite por defecto es el tamaño del pool de Hikari, de modo que nunca hay
+ * más hilos pidiendo conexión a Hikari que conexiones tiene.
+ */
+@Configuration
+@ConditionalOnProperty(name = "basedatos.limitador.habilitado", havingValue = "true")
+public class LimitadorConexionesConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimitadorConexionesConfig.class);
+
+    @Bean
+    static BeanPostProcessor limitadorConexiones(Environment entorno) {
+        return new Envoltorio(entorno);
+    }
+
+    // Ordered: debe ver el HikariDataSource antes que cualquier otro envoltorio de DataSource
+    private static final class Envoltorio implements BeanPostProcessor, Ordered {
+
+        private final Environment entorno;
+
+        private Envoltorio(Environment entorno) {
+            this.entorno = entorno;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nombre) {
+            // Solo el pool de Hikari: los DataSource que lo envuelven (p. ej. ReplicasConfig) ya pasan por aquí
+            if (!(bean instanceof HikariDataSource hikari)) {
+                return bean;
+            }
+            int maximo = entorno.getProperty("basedatos.limitador.maximo", Integer.class, 0);
+            if (maximo <= 0) {
+                maximo = hikari.getMaximumPoolSize();
+            }
+            if (maximo <= 0) {
+                // Sin maximum-pool-size explícito Hikari vale -1 hasta arrancar el pool; su valor por defecto es 10
+                maximo = 10;
+            }
+            long esperaMs = entorno.getProperty("basedatos.limitador.espera-maxima-ms", Long.class, 30000L);
+            logger.info("🚦 Concurrencia de base de datos limitada a {} conexiones (hilos virtuales: {})", maximo,
+                entorno.getProperty("spring.threads.virtual.enabled", Boolean.class, false)
+                    && Runtime.version().feature() >= 21);
+            return new DataSourceLimitado(hikari, maximo, esperaMs);
+        }
+    }
+
+    @Bean
+    MeterBinder metricasLimitador(DataSource dataSource) {
+        return registry -> {
+            DataSourceLimitado limitador;
+            try {
+                limitador = dataSource.unwrap(DataSourceLimitado.class);
+            } catch (SQLException e) {
+                return;
+            }
+            Gauge.builder("basedatos.limitador.en.uso", limitador, DataSourceLimitado::getEnUso)
+                .description("Conexiones concedidas por el limitador").register(registry);
+            Gauge.builder("basedatos.limitador.en.espera", limitador, DataSourceLimitado::getEnEspera)
+                .description("Hilos esperando conexión en el limitador").register(registry);
+        };
+    }
+}
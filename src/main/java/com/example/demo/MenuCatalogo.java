@@ -0,0 +1,187 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Catálogo en memoria de los platos (id → plato), versionado.
+ * Se recarga completo desde la base de datos la primera vez que se usa
+ * después de invalidar(); PlatoService lo invalida en cada escritura.
+ * Las escrituras hechas en otra instancia no llegan aquí, así que además
+ * caduca a los menu.catalogo.ttl-ms: es lo más que un pedido puede tardar
+ * en tomar el precio nuevo de un plato cambiado en otra instancia.
+ * Junto al mapa guarda el menú ya serializado en cada formato que se puede
+ * pedir con Accept (JSON, CBOR, Smile), cada uno con su ETag, y el índice de
+ * búsqueda (IndiceMenu). La recarga va bajo un ReentrantLock y no synchronized:
+ * incluye la consulta a la base de datos, y con hilos virtuales synchronized
+ * fijaría el hilo de plataforma mientras dura.
+ */
+@Component
+public class MenuCatalogo {
+
+    @Autowired
+    private PlatoRepository platoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter convertidorCbor;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter convertidorSmile;
+
+    /** Formatos en los que se sirve el menú, en orden de preferencia si Accept no distingue. */
+    public static final List<MediaType> FORMATOS_MENU = List.of(
+        MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, FormatosBinariosConfig.APPLICATION_SMILE);
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final AtomicLong invalidaciones = new AtomicLong();
+
+    private volatile Instantanea instantanea;
+
+    private final long ttlNanos;
+
+    private final long recargaMinimaNanos;
+
+    private final ReentrantLock recarga = new ReentrantLock();
+
+    /** Menú listo para enviar en un formato: cuerpo precalculado y su ETag. */
+    public record MenuSerializado(MediaType tipo, byte[] cuerpo, String etag) {}
+
+    private record Instantanea(Map<Integer, Plato> platos, Map<MediaType, MenuSerializado> menus, IndiceMenu indice,
+                               long cargadaEn) {}
+
+    // Índice de la última carga, para que la siguiente solo tokenice los platos que cambiaron
+    private IndiceMenu ultimoIndice;
+
+    public MenuCatalogo(@Value("${menu.catalogo.ttl-ms:30000}") long ttlMs,
+                        @Value("${menu.catalogo.recarga-minima-ms:1000}") long recargaMinimaMs) {
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.recargaMinimaNanos = recargaMinimaMs * 1_000_000;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public List<Plato> getPlatos() {
+        return cargada().platos().values().stream().map(MenuCatalogo::copia).toList();
+    }
+
+    /** tipo debe ser uno de FORMATOS_MENU. */
+    public MenuSerializado getMenuSerializado(MediaType tipo) {
+        return cargada().menus().get(tipo);
+    }
+
+    /** Búsqueda por nombre y descripción en el índice en memoria (ver IndiceMenu). */
+    public List<Plato> buscar(String consulta, int limite) {
+        return cargada().indice().buscar(consulta, limite).stream().map(MenuCatalogo::copia).toList();
+    }
+
+    /**
+     * Resuelve todos los ids sin ir a la base de datos. Si falta alguno se
+     * recarga el catálogo una vez (plato creado en otra instancia) y, si aun
+     * así no aparece, se rechaza el pedido. Un id inexistente no provoca más
+     * de una recarga cada menu.catalogo.recarga-minima-ms: dentro de ese
+     * intervalo se rechaza con el catálogo que ya hay.
+     */
+    public Map<Integer, Plato> resolver(Collection<Integer> ids) {
+        Instantanea actual = cargada();
+        if (!actual.platos().keySet().containsAll(ids) && System.nanoTime() - actual.cargadaEn() >= recargaMinimaNanos) {
+            actual = recargar(actual);
+        }
+        Map<Integer, Plato> resueltos = new HashMap<>();
+        for (Integer id : ids) {
+            Plato plato = actual.platos().get(id);
+            if (plato == null) {
+                throw new RuntimeException("Plato no encontrado con id: " + id);
+            }
+            resueltos.put(id, copia(plato));
+        }
+        return resueltos;
+    }
+
+    public void invalidar() {
+        invalidaciones.incrementAndGet();
+        instantanea = null;
+    }
+
+    private Instantanea cargada() {
+        Instantanea actual = instantanea;
+        if (actual != null && System.nanoTime() - actual.cargadaEn() < ttlNanos) {
+            return actual;
+        }
+        return recargar(actual);
+    }
+
+    // Recarga salvo que otro hilo ya haya reemplazado 'vista' mientras se esperaba el cerrojo
+    private Instantanea recargar(Instantanea vista) {
+        recarga.lock();
+        try {
+            Instantanea actual = instantanea;
+            if (actual != null && actual != vista) {
+                return actual;
+            }
+            long invalidacion = invalidaciones.get();
+            List<Plato> lista = platoRepository.findAll();
+            Map<Integer, Plato> platos = new LinkedHashMap<>();
+            for (Plato plato : lista) {
+                platos.put(plato.getId(), plato);
+            }
+            ultimoIndice = IndiceMenu.construir(platos.values(), ultimoIndice);
+            actual = new Instantanea(Collections.unmodifiableMap(platos), serializar(lista), ultimoIndice, System.nanoTime());
+            version.incrementAndGet();
+            // Si hubo una escritura durante la carga, la próxima lectura recarga de nuevo
+            instantanea = invalidacion == invalidaciones.get() ? actual : null;
+            return actual;
+        } finally {
+            recarga.unlock();
+        }
+    }
+
+    // Un ETag por formato: son representaciones distintas del mismo menú
+    private Map<MediaType, MenuSerializado> serializar(List<Plato> platos) {
+        Map<MediaType, MenuSerializado> menus = new HashMap<>();
+        menus.put(MediaType.APPLICATION_JSON, serializar(MediaType.APPLICATION_JSON, objectMapper, platos));
+        menus.put(MediaType.APPLICATION_CBOR, serializar(MediaType.APPLICATION_CBOR, convertidorCbor.getObjectMapper(), platos));
+        menus.put(FormatosBinariosConfig.APPLICATION_SMILE,
+            serializar(FormatosBinariosConfig.APPLICATION_SMILE, convertidorSmile.getObjectMapper(), platos));
+        return Map.copyOf(menus);
+    }
+
+    private static MenuSerializado serializar(MediaType tipo, ObjectMapper mapper, List<Plato> platos) {
+        try {
+            byte[] cuerpo = mapper.writeValueAsBytes(platos);
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(cuerpo);
+            return new MenuSerializado(tipo, cuerpo, "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("No se pudo serializar el menú", e);
+        }
+    }
+
+    // Copia separada para que nadie modifique la instancia compartida
+    private static Plato copia(Plato plato) {
+        Plato copia = new Plato(plato.getNombre(), plato.getDescripcion(), plato.getPrecio());
+        copia.setId(plato.getId());
+        return copia;
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta BCrypt en un pool propio y acotado para que una ráfaga de logins
+ * no ocupe los hilos de Tomcat que atienden pedidos: las operaciones devuelven
+ * un CompletableFuture y el controlador libera su hilo mientras se calcula el
+ * hash. Con la cola llena el futuro falla en el acto con
+ * HashingSaturadoException (503 + Retry-After en los controladores).
+ */
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final int fuerza;
+
+    private final long reintentarEnSegundos;
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  @Value("${auth.bcrypt.fuerza:10}") int fuerza,
+                                  @Value("${auth.bcrypt.hilos:0}") int hilos,
+                                  @Value("${auth.bcrypt.cola:64}") int cola,
+                                  @Value("${auth.bcrypt.reintentar-en-segundos:1}") long reintentarEnSegundos) {
+        this.passwordEncoder = passwordEncoder;
+        // Calibrado (fuerza 0), el encoder no expone su fuerza: se lee del coste de un hash de muestra
+        this.fuerza = fuerza > 0 ? fuerza : coste(passwordEncoder.encode("muestra"));
+        this.reintentarEnSegundos = reintentarEnSegundos;
+        int tamano = hilos > 0 ? hilos : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger contador = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(tamano, tamano, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(cola),
+            tarea -> {
+                Thread hilo = new Thread(tarea, "bcrypt-" + contador.incrementAndGet());
+                hilo.setDaemon(true);
+                return hilo;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public CompletableFuture<String> codificar(String contraseña) {
+        return ejecutar(() -> passwordEncoder.encode(contraseña));
+    }
+
+    public CompletableFuture<Boolean> verificar(String contraseña, String hash) {
+        return ejecutar(() -> passwordEncoder.matches(contraseña, hash));
+    }
+
+    /**
+     * true si el hash guardado es más débil que la fuerza configurada. Nunca se
+     * rebaja un hash más fuerte: si las instancias tuvieran fuerzas distintas, cada
+     * login reescribiría el hash de una a otra.
+     */
+    public boolean necesitaRehash(String hash) {
+        return coste(hash) < fuerza;
+    }
+
+    // Formato $2a$10$...: el coste son los dos dígitos tras el segundo '$'; -1 si no es BCrypt
+    private static int coste(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private <T> CompletableFuture<T> ejecutar(Supplier<T> tarea) {
+        try {
+            return CompletableFuture.supplyAsync(tarea, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new HashingSaturadoException(reintentarEnSegundos));
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        executor.shutdown();
+    }
+}
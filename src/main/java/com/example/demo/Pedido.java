@@ -11,7 +11,9 @@ import com.fasterxml.jackson.annotation.JsonManagedReference;
 @Table(name = "pedidos")
 public class Pedido {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "pedidos_ids")
+    @TableGenerator(name = "pedidos_ids", table = "id_generador", pkColumnName = "entidad",
+        valueColumnName = "siguiente", pkColumnValue = "pedidos", allocationSize = GeneradorIds.BLOQUE)
     private Integer id;
 
     @Column(nullable = false)
@@ -24,6 +26,10 @@ public class Pedido {
     @Column(nullable = false, length = 20)
     private Estado estado = Estado.PENDIENTE;
 
+    // Control de concurrencia optimista; los cambios de estado lo incrementan
+    @Version
+    private long version;
+
     @ManyToOne(fetch = FetchType.EAGER)  // ← CAMBIAR DE LAZY A EAGER
     @JoinColumn(name = "cliente_doc", nullable = false)
     @JsonIgnoreProperties({"pedidos", "contraseña"})
@@ -54,6 +60,9 @@ public class Pedido {
     public Estado getEstado() { return estado; }
     public void setEstado(Estado estado) { this.estado = estado; }
     
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+    
     public Usuario getCliente() { return cliente; }
     public void setCliente(Usuario cliente) { this.cliente = cliente; }
     
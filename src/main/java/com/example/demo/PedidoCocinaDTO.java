@@ -0,0 +1,81 @@
+package com.example.demo;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido tal como lo necesita la pantalla de cocina: sin cliente y con los platos
+ * solo por id (nombre y descripción los tiene ya la tableta con GET /api/platos,
+ * que se revalida por ETag). Se construye directamente desde una consulta, una
+ * fila por item, y PedidoService junta las filas del mismo pedido.
+ */
+public class PedidoCocinaDTO {
+    private final Integer id;
+    private final LocalDateTime fecha;
+    private final Estado estado;
+    private final Boolean esDomicilio;
+    private final Long version;
+    private final List<Item> items = new ArrayList<>();
+
+    // Constructores (orden de columnas de PedidoRepository.findVistaCocina)
+    public PedidoCocinaDTO(Integer id, LocalDateTime fecha, Estado estado, Boolean esDomicilio, Long version,
+                           Integer platoId, Integer cantidad) {
+        this(id, fecha, estado, esDomicilio, version);
+        // Un pedido sin items llega en una sola fila con el item en null (left join)
+        if (platoId != null) {
+            items.add(new Item(platoId, cantidad));
+        }
+    }
+
+    public PedidoCocinaDTO(Integer id, LocalDateTime fecha, Estado estado, Boolean esDomicilio, Long version) {
+        this.id = id;
+        this.fecha = fecha;
+        this.estado = estado;
+        this.esDomicilio = esDomicilio;
+        this.version = version;
+    }
+
+    // Getters
+    public Integer getId() {
+        return id;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public Estado getEstado() {
+        return estado;
+    }
+
+    public Boolean getEsDomicilio() {
+        return esDomicilio;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public static class Item {
+        private final Integer platoId;
+        private final Integer cantidad;
+
+        public Item(Integer platoId, Integer cantidad) {
+            this.platoId = platoId;
+            this.cantidad = cantidad;
+        }
+
+        public Integer getPlatoId() {
+            return platoId;
+        }
+
+        public Integer getCantidad() {
+            return cantidad;
+        }
+    }
+}
@@ -8,10 +8,18 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -24,44 +32,133 @@ public class PedidoController {
     @Autowired
     private PedidoService pedidoService;
 
+    @Autowired
+    private PedidoImportService pedidoImportService;
+
+    @Autowired
+    private PedidoEventosService pedidoEventosService;
+
+    @Autowired
+    private TableroPedidosService tableroPedidosService;
+
+    @Value("${pedidos.importacion.tamano-lote:500}")
+    private int tamanoLoteImportacion;
+
+    @Value("${pedidos.pagina.tamano-maximo:200}")
+    private int tamanoMaximoPagina;
+
+    @Value("${pedidos.pagina.presupuesto-consultas:2}")
+    private int presupuestoConsultas;
+
     @GetMapping
     @Transactional(readOnly = true)
-    @Operation(summary = "Obtener todos los pedidos", description = "Devuelve una lista de todos los pedidos existentes")
+    @Operation(summary = "Obtener pedidos", deprecated = true, description = "Devuelve como máximo pedidos.pagina.tamano-maximo "
+            + "pedidos, los de menor ID. Si hay más, el encabezado Link (rel=\"next\") lleva a GET /api/pedidos/pagina con el "
+            + "cursor para seguir. Obsoleto: usar GET /api/pedidos/pagina")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de pedidos obtenida con éxito"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     public ResponseEntity<List<Pedido>> getAllPedidos() {
         try {
-            logger.info("🔍 Obteniendo todos los pedidos...");
-            List<Pedido> pedidos = pedidoService.findAll();
-            logger.info("📦 Se encontraron {} pedidos", pedidos.size());
-            
-            pedidos.forEach(p -> {
-                logger.debug("Cargando items del pedido #{}", p.getId());
-                p.getItems().size();
-                p.getCliente().getNombre();
-            });
-            
+            logger.info("🔍 Obteniendo pedidos...");
+            // Antes devolvía la tabla entera; ahora es la primera página del listado por cursor
+            PedidoPaginaDTO pagina = pedidoService.findPagina(null, tamanoMaximoPagina);
+            logger.info("📦 Se encontraron {} pedidos", pagina.getPedidos().size());
+            ResponseEntity.BodyBuilder respuesta = ResponseEntity.ok();
+            if (pagina.getSiguienteCursor() != null) {
+                String siguiente = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/api/pedidos/pagina")
+                    .queryParam("despuesDe", pagina.getSiguienteCursor())
+                    .queryParam("tamano", tamanoMaximoPagina)
+                    .toUriString();
+                respuesta.header(HttpHeaders.LINK, "<" + siguiente + ">; rel=\"next\"");
+            }
             logger.info("✅ Pedidos cargados correctamente");
-            return ResponseEntity.ok(pedidos);
+            return respuesta.body(pagina.getPedidos());
         } catch (Exception e) {
             logger.error("❌ Error al obtener pedidos: {}", e.getMessage(), e);
             throw e;
         }
     }
 
+    @GetMapping("/pagina")
+    @Transactional(readOnly = true)
+    @Operation(summary = "Obtener pedidos paginados", description = "Devuelve una página de pedidos ordenada por ID usando un cursor. "
+            + "Para la siguiente página se envía 'siguienteCursor' en el parámetro 'despuesDe'")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Página de pedidos obtenida con éxito"),
+        @ApiResponse(responseCode = "400", description = "Tamaño de página inválido")
+    })
+    public ResponseEntity<PedidoPaginaDTO> getPedidosPaginados(
+            @RequestParam(required = false) @Parameter(description = "ID del último pedido de la página anterior") Integer despuesDe,
+            @RequestParam(defaultValue = "50") @Parameter(description = "Cantidad de pedidos por página") int tamano) {
+        if (tamano < 1 || tamano > tamanoMaximoPagina) {
+            return ResponseEntity.badRequest().build();
+        }
+        int antes = ContadorConsultas.total();
+        PedidoPaginaDTO pagina = pedidoService.findPagina(despuesDe, tamano);
+        int consultas = ContadorConsultas.total() - antes;
+        if (consultas > presupuestoConsultas) {
+            logger.warn("⚠️ La página de pedidos usó {} consultas (presupuesto {})", consultas, presupuestoConsultas);
+        }
+        return ResponseEntity.ok()
+            .header("X-Consultas-SQL", String.valueOf(consultas))
+            .body(pagina);
+    }
+
+    @GetMapping("/tablero")
+    @Operation(summary = "Tablero de pedidos por estado", description = "Cuenta los pedidos PENDIENTE, PREPARACION y FINALIZADO "
+            + "separando domicilio / local y los de hoy / días anteriores, con una sola consulta agregada. El resultado se "
+            + "comparte entre clientes durante pedidos.tablero.ttl-ms; 'generado' indica cuándo se consultó. "
+            + "Los pedidos archivados no se cuentan")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Conteos obtenidos con éxito")
+    })
+    public ResponseEntity<TableroPedidosDTO> getTablero() {
+        return ResponseEntity.ok(tableroPedidosService.getTablero());
+    }
+
+    @GetMapping("/cocina")
+    @Transactional(readOnly = true)
+    @Operation(summary = "Pedidos para la pantalla de cocina", description = "Pedidos en los estados indicados (por defecto PENDIENTE y "
+            + "PREPARACION), del más antiguo al más nuevo, sin datos del cliente y con cada item como {platoId, cantidad}; "
+            + "los nombres de los platos salen de GET /api/platos. Como el resto de la API, admite Accept: application/cbor "
+            + "o application/x-jackson-smile para recibirlo en binario")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Pedidos obtenidos con éxito")
+    })
+    public ResponseEntity<List<PedidoCocinaDTO>> getVistaCocina(
+            @RequestParam(defaultValue = "PENDIENTE,PREPARACION") @Parameter(description = "Estados a incluir") List<Estado> estados) {
+        return ResponseEntity.ok(pedidoService.findVistaCocina(estados));
+    }
+
+    @GetMapping(value = "/eventos", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Suscribirse a cambios de pedidos", description = "Stream SSE con los pedidos creados (CREADO), cambios de estado (ESTADO) "
+            + "y eliminaciones (ELIMINADO), enviados tras confirmarse cada cambio. Al reconectar se envía Last-Event-ID para recibir solo lo perdido; "
+            + "si el evento 'reiniciar' llega (eventos ya descartados, o el servidor se reinició o es otra instancia), hay que recargar "
+            + "el tablero completo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Suscripción abierta")
+    })
+    public SseEmitter suscribirEventos(
+            @RequestHeader(value = "Last-Event-ID", required = false) @Parameter(description = "Último evento recibido") String ultimoEvento) {
+        return pedidoEventosService.suscribir(ultimoEvento);
+    }
+
     @GetMapping("/{id}")
     @Transactional(readOnly = true)
-    @Operation(summary = "Obtener pedido por ID", description = "Devuelve un pedido específico basado en su ID")
+    @Operation(summary = "Obtener pedido por ID", description = "Devuelve un pedido específico basado en su ID. "
+            + "Con incluirArchivo=true también lo busca entre los pedidos archivados")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pedido encontrado"),
         @ApiResponse(responseCode = "404", description = "Pedido no encontrado")
     })
     public ResponseEntity<Pedido> getPedidoById(
-            @PathVariable @Parameter(description = "ID del pedido") Integer id) {
+            @PathVariable @Parameter(description = "ID del pedido") Integer id,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Buscar también en el archivo") boolean incluirArchivo) {
         logger.info("🔍 Buscando pedido con ID: {}", id);
-        return pedidoService.findById(id)
+        return pedidoService.findById(id, incluirArchivo)
             .map(pedido -> {
                 pedido.getItems().size();
                 logger.info("✅ Pedido #{} encontrado", id);
@@ -91,15 +188,17 @@ public class PedidoController {
 
     @GetMapping("/cliente/{documento}")
     @Transactional(readOnly = true)
-    @Operation(summary = "Obtener pedidos por cliente", description = "Devuelve una lista de pedidos basado en el documento del cliente")
+    @Operation(summary = "Obtener pedidos por cliente", description = "Devuelve una lista de pedidos basado en el documento del cliente. "
+            + "Los pedidos finalizados y facturados se archivan pasado un tiempo; con incluirArchivo=true se incluyen también, en orden de ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Pedidos encontrados"),
         @ApiResponse(responseCode = "404", description = "No hay pedidos para este cliente")
     })
     public ResponseEntity<List<Pedido>> getPedidosByCliente(
-            @PathVariable @Parameter(description = "Documento del cliente") String documento) {
+            @PathVariable @Parameter(description = "Documento del cliente") String documento,
+            @RequestParam(defaultValue = "false") @Parameter(description = "Incluir pedidos archivados") boolean incluirArchivo) {
         logger.info("🔍 Buscando pedidos del cliente: {}", documento);
-        List<Pedido> pedidos = pedidoService.findByClienteDoc(documento);
+        List<Pedido> pedidos = pedidoService.findByClienteDoc(documento, incluirArchivo);
         if (pedidos.isEmpty()) {
             logger.warn("⚠️ No se encontraron pedidos para el cliente {}", documento);
             return ResponseEntity.notFound().build();
@@ -129,19 +228,49 @@ public class PedidoController {
         }
     }
 
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    @Operation(summary = "Importar pedidos en bloque", description = "Recibe un PedidoRequestDTO por línea (NDJSON) y lo procesa en streaming, "
+            + "confirmando por lotes. Responde también en NDJSON con un resultado por línea: {\"linea\", \"ok\", \"pedidoId\"} o {\"linea\", \"ok\", \"error\"}")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Importación procesada; revisar el resultado de cada línea"),
+        @ApiResponse(responseCode = "400", description = "Tamaño de lote inválido")
+    })
+    public void importarPedidos(
+            @RequestParam(required = false) @Parameter(description = "Pedidos por transacción") Integer tamanoLote,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        int lote = tamanoLote != null ? tamanoLote : tamanoLoteImportacion;
+        if (lote < 1 || lote > 5000) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return;
+        }
+        logger.info("📥 Importando pedidos en lotes de {}", lote);
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType("application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        pedidoImportService.importar(request.getInputStream(), response.getOutputStream(), lote);
+    }
+
     @PatchMapping("/{id}/estado")
-    @Operation(summary = "Actualizar estado del pedido", description = "Actualiza el estado de un pedido específico usando DTO")
+    @Operation(summary = "Actualizar estado del pedido", description = "Actualiza el estado de un pedido específico usando DTO. "
+            + "Solo se permiten las transiciones PENDIENTE → PREPARACION → FINALIZADO. Si el DTO trae 'version', "
+            + "el cambio solo se aplica si el pedido sigue en esa versión. Al pasar a FINALIZADO la factura se genera "
+            + "automáticamente en segundo plano")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Estado actualizado con éxito"),
         @ApiResponse(responseCode = "404", description = "Pedido no encontrado"),
-        @ApiResponse(responseCode = "400", description = "Estado inválido")
+        @ApiResponse(responseCode = "400", description = "Estado inválido"),
+        @ApiResponse(responseCode = "409", description = "Transición no permitida o el pedido fue modificado por otra petición")
     })
     public ResponseEntity<Pedido> updateEstado(
             @PathVariable @Parameter(description = "ID del pedido") Integer id,
             @RequestBody @Parameter(description = "DTO con el nuevo estado") EstadoUpdateDTO dto) {
+        if (dto.getEstado() == null) {
+            logger.error("❌ Estado inválido: {}", dto.getEstado());
+            return ResponseEntity.badRequest().build();
+        }
         try {
             logger.info("🔄 Actualizando estado del pedido #{} a {}", id, dto.getEstado());
-            return pedidoService.updateEstado(id, dto.getEstado())
+            return pedidoService.updateEstado(id, dto.getEstado(), dto.getVersion())
                 .map(pedido -> {
                     logger.info("✅ Estado del pedido #{} actualizado a {}", id, dto.getEstado());
                     return ResponseEntity.ok(pedido);
@@ -150,17 +279,19 @@ public class PedidoController {
                     logger.warn("⚠️ Pedido #{} no encontrado", id);
                     return ResponseEntity.notFound().build();
                 });
-        } catch (IllegalArgumentException e) {
-            logger.error("❌ Estado inválido: {}", dto.getEstado());
-            return ResponseEntity.badRequest().build();
+        } catch (ConflictoEstadoException e) {
+            logger.warn("⚠️ Conflicto al actualizar el pedido #{}: {}", id, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
     }
 
     @DeleteMapping("/{id}")
-    @Operation(summary = "Eliminar un pedido", description = "Elimina un pedido SOLO si está FINALIZADO")
+    @Operation(summary = "Eliminar un pedido", description = "Elimina un pedido SOLO si está FINALIZADO y no tiene factura "
+            + "(los facturados se archivan automáticamente)")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Pedido eliminado con éxito"),
-        @ApiResponse(responseCode = "404", description = "Pedido no encontrado o no está finalizado")
+        @ApiResponse(responseCode = "404", description = "Pedido no encontrado, no está finalizado o ya está facturado "
+            + "(o su factura automática está en curso)")
     })
     public ResponseEntity<Void> deletePedido(
             @PathVariable @Parameter(description = "ID del pedido") Integer id) {
@@ -0,0 +1,62 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Cambio de un pedido tal como se envía por SSE; los campos que no aplican al tipo van nulos y se omiten
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PedidoEventoDTO {
+
+    public enum Tipo { CREADO, ESTADO, ELIMINADO }
+
+    private Tipo tipo;
+    private Integer pedidoId;
+    private Estado estado;
+    private Boolean esDomicilio;
+    private String clienteDoc;
+    private LocalDateTime fecha;
+    private List<ItemPedidoDTO> items;
+
+    // Constructores
+    public PedidoEventoDTO() {}
+
+    public PedidoEventoDTO(Tipo tipo, Integer pedidoId, Estado estado) {
+        this.tipo = tipo;
+        this.pedidoId = pedidoId;
+        this.estado = estado;
+    }
+
+    public static PedidoEventoDTO creado(Pedido pedido) {
+        PedidoEventoDTO evento = new PedidoEventoDTO(Tipo.CREADO, pedido.getId(), pedido.getEstado());
+        evento.setEsDomicilio(pedido.getEsDomicilio());
+        evento.setClienteDoc(pedido.getCliente().getDocumento());
+        evento.setFecha(pedido.getFecha());
+        evento.setItems(pedido.getItems().stream()
+            .map(item -> new ItemPedidoDTO(item.getPlato().getId(), item.getCantidad()))
+            .toList());
+        return evento;
+    }
+
+    // Getters y Setters
+    public Tipo getTipo() { return tipo; }
+    public void setTipo(Tipo tipo) { this.tipo = tipo; }
+
+    public Integer getPedidoId() { return pedidoId; }
+    public void setPedidoId(Integer pedidoId) { this.pedidoId = pedidoId; }
+
+    public Estado getEstado() { return estado; }
+    public void setEstado(Estado estado) { this.estado = estado; }
+
+    public Boolean getEsDomicilio() { return esDomicilio; }
+    public void setEsDomicilio(Boolean esDomicilio) { this.esDomicilio = esDomicilio; }
+
+    public String getClienteDoc() { return clienteDoc; }
+    public void setClienteDoc(String clienteDoc) { this.clienteDoc = clienteDoc; }
+
+    public LocalDateTime getFecha() { return fecha; }
+    public void setFecha(LocalDateTime fecha) { this.fecha = fecha; }
+
+    public List<ItemPedidoDTO> getItems() { return items; }
+    public void setItems(List<ItemPedidoDTO> items) { this.items = items; }
+}
@@ -0,0 +1,148 @@
+package com.example.demo;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Difunde por Server-Sent Events los cambios de pedidos una vez confirmada la transacción.
+ * Guarda los últimos eventos numerados para que una pantalla que se reconecta con
+ * Last-Event-ID reciba solo lo que se perdió; si ya no están, recibe "reiniciar" y
+ * debe volver a cargar el tablero completo. La numeración empieza de cero en cada
+ * arranque y en cada instancia, así que el id lleva delante la época de este
+ * arranque ("época-número"): un Last-Event-ID de otra época también recibe "reiniciar".
+ * Todos los envíos pasan por un único hilo, así el orden se mantiene y un cliente
+ * lento no frena a quien registra el pedido. Se encolan en ese hilo dentro del mismo
+ * bloque sincronizado que numera el evento o calcula lo que hay que reenviar, así la
+ * cola sigue el orden de los ids y un evento no llega dos veces a quien se suscribe
+ * mientras se publica.
+ */
+@Service
+public class PedidoEventosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoEventosService.class);
+
+    private final int capacidad;
+
+    private final long timeoutMs;
+
+    private final Deque<Evento> recientes = new ArrayDeque<>();
+
+    private final List<SseEmitter> emisores = new CopyOnWriteArrayList<>();
+
+    private final ExecutorService difusor = Executors.newSingleThreadExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "pedidos-sse");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private record Evento(long id, String nombre, Object datos) {}
+
+    private final String epoca = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    // Número del último evento; los eventos de recientes van de ultimoId - recientes.size() + 1 a ultimoId
+    private long ultimoId;
+
+    public PedidoEventosService(@Value("${pedidos.eventos.capacidad:1000}") int capacidad,
+                                @Value("${pedidos.eventos.timeout-minutos:30}") long timeoutMinutos) {
+        this.capacidad = capacidad;
+        this.timeoutMs = timeoutMinutos * 60_000;
+    }
+
+    public SseEmitter suscribir(String ultimoRecibido) {
+        SseEmitter emisor = nuevoEmisor(timeoutMs);
+        emisor.onCompletion(() -> emisores.remove(emisor));
+        emisor.onTimeout(() -> emisores.remove(emisor));
+        emisor.onError(e -> emisores.remove(emisor));
+
+        synchronized (this) {
+            List<Evento> pendientes = new ArrayList<>();
+            if (ultimoRecibido != null) {
+                long primero = ultimoId - recientes.size() + 1;
+                Long numero = numeroDeEstaEpoca(ultimoRecibido);
+                if (numero == null || numero + 1 < primero || numero > ultimoId) {
+                    pendientes.add(new Evento(ultimoId, "reiniciar", ""));
+                } else {
+                    recientes.stream().skip(Math.max(0, numero + 1 - primero)).forEach(pendientes::add);
+                }
+            }
+            emisores.add(emisor);
+            difusor.execute(() -> pendientes.forEach(evento -> enviar(emisor, evento)));
+        }
+        return emisor;
+    }
+
+    SseEmitter nuevoEmisor(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    // null si el id no es de este arranque (otra instancia, un reinicio) o no tiene el formato esperado
+    private Long numeroDeEstaEpoca(String id) {
+        int separador = id.lastIndexOf('-');
+        if (separador < 0 || !id.substring(0, separador).equals(epoca)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(separador + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(PedidoEventoDTO cambio) {
+        synchronized (this) {
+            ultimoId++;
+            Evento evento = new Evento(ultimoId, cambio.getTipo().name(), cambio);
+            recientes.addLast(evento);
+            if (recientes.size() > capacidad) {
+                recientes.removeFirst();
+            }
+            // Los suscritos ahora; quien se suscriba después ya recibe este evento al reenviar recientes
+            List<SseEmitter> destinatarios = List.copyOf(emisores);
+            difusor.execute(() -> destinatarios.forEach(emisor -> enviar(emisor, evento)));
+        }
+    }
+
+    // Comentario periódico para que proxies y balanceadores no corten la conexión
+    @Scheduled(fixedRateString = "${pedidos.eventos.latido-ms:15000}")
+    public void latido() {
+        difusor.execute(() -> emisores.forEach(emisor -> enviar(emisor, null)));
+    }
+
+    // El SseEventBuilder no se puede reutilizar: se construye uno por envío (evento null = latido)
+    private void enviar(SseEmitter emisor, Evento evento) {
+        try {
+            emisor.send(evento == null
+                ? SseEmitter.event().comment("latido")
+                : SseEmitter.event()
+                    .id(epoca + "-" + evento.id())
+                    .name(evento.nombre())
+                    .data(evento.datos(), MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Pantalla desconectada: {}", e.getMessage());
+            emisores.remove(emisor);
+        }
+    }
+
+    @PreDestroy
+    public void cerrar() {
+        emisores.forEach(SseEmitter::complete);
+        difusor.shutdownNow();
+    }
+}
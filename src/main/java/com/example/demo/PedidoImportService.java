@@ -0,0 +1,261 @@
+package com.example.demo;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importa pedidos desde NDJSON (un PedidoRequestDTO por línea) sin cargar el cuerpo
+ * completo: se lee línea a línea, se valida contra el catálogo de platos y una
+ * caché de clientes, y se confirma cada lote en su propia transacción. Por cada
+ * línea se escribe un resultado NDJSON en cuanto su lote termina. Si la
+ * transacción de un lote falla, sus líneas se reintentan una a una para que solo
+ * se rechace la que falla. Las líneas de más de pedidos.importacion.longitud-maxima-linea
+ * caracteres se rechazan sin guardarlas enteras en memoria.
+ */
+@Service
+public class PedidoImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PedidoImportService.class);
+
+    // Tope de documentos de cliente recordados entre lotes; al llenarse se vacía
+    private static final int MAX_CLIENTES_CONOCIDOS = 10_000;
+
+    @Autowired
+    private PedidoService pedidoService;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${pedidos.importacion.longitud-maxima-linea:65536}")
+    private int longitudMaximaLinea;
+
+    public record ResumenImportacion(int lineas, int creados, int rechazados) {}
+
+    private record Linea(int numero, PedidoRequestDTO pedido, Map<Integer, Plato> platos) {}
+
+    public ResumenImportacion importar(InputStream entrada, OutputStream salida, int tamanoLote) throws IOException {
+        LectorLineas lector = new LectorLineas(
+            new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8)), longitudMaximaLinea);
+        Set<String> clientesConocidos = new HashSet<>();
+        // Resultados del lote en curso, por número de línea, para escribirlos en orden
+        Map<Integer, Map<String, Object>> resultados = new LinkedHashMap<>();
+        List<Linea> lote = new ArrayList<>();
+        int numero = 0;
+        int creados = 0;
+        int rechazados = 0;
+
+        String texto;
+        while ((texto = lector.siguiente()) != null) {
+            numero++;
+            if (texto.isBlank() && !lector.excedida()) {
+                continue;
+            }
+            try {
+                if (lector.excedida()) {
+                    throw new RuntimeException("Línea de más de " + longitudMaximaLinea + " caracteres");
+                }
+                PedidoRequestDTO pedido = objectMapper.readValue(texto, PedidoRequestDTO.class);
+                if (pedido.getClienteDoc() == null || pedido.getClienteDoc().isBlank()) {
+                    throw new RuntimeException("Falta clienteDoc");
+                }
+                lote.add(new Linea(numero, pedido, pedidoService.resolverPlatos(pedido)));
+                resultados.put(numero, null);
+            } catch (JsonProcessingException e) {
+                resultados.put(numero, error(numero, "JSON inválido: " + e.getOriginalMessage()));
+            } catch (RuntimeException e) {
+                resultados.put(numero, error(numero, e.getMessage()));
+            }
+
+            if (resultados.size() >= tamanoLote) {
+                creados += confirmarLote(lote, resultados, clientesConocidos);
+                rechazados += escribir(resultados, salida);
+                lote.clear();
+            }
+        }
+        creados += confirmarLote(lote, resultados, clientesConocidos);
+        rechazados += escribir(resultados, salida);
+
+        logger.info("📥 Importación terminada: {} líneas, {} pedidos creados, {} rechazados", numero, creados, rechazados);
+        return new ResumenImportacion(numero, creados, rechazados);
+    }
+
+    private int confirmarLote(List<Linea> lote, Map<Integer, Map<String, Object>> resultados, Set<String> clientesConocidos) {
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        // Una sola consulta para los clientes del lote que aún no se conocen
+        Set<String> porConsultar = new HashSet<>();
+        for (Linea linea : lote) {
+            if (!clientesConocidos.contains(linea.pedido().getClienteDoc())) {
+                porConsultar.add(linea.pedido().getClienteDoc());
+            }
+        }
+        if (!porConsultar.isEmpty()) {
+            if (clientesConocidos.size() + porConsultar.size() > MAX_CLIENTES_CONOCIDOS) {
+                clientesConocidos.clear();
+            }
+            usuarioRepository.findAllById(porConsultar).forEach(u -> clientesConocidos.add(u.getDocumento()));
+        }
+
+        List<Linea> validas = new ArrayList<>();
+        for (Linea linea : lote) {
+            if (clientesConocidos.contains(linea.pedido().getClienteDoc())) {
+                validas.add(linea);
+            } else {
+                resultados.put(linea.numero(), error(linea.numero(),
+                    "Cliente no encontrado con documento: " + linea.pedido().getClienteDoc()));
+            }
+        }
+        if (validas.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            registrarCreados(validas, guardar(validas), resultados);
+            return validas.size();
+        } catch (RuntimeException e) {
+            if (validas.size() == 1) {
+                logger.warn("⚠️ Línea {} de la importación rechazada: {}", validas.get(0).numero(), e.getMessage());
+                resultados.put(validas.get(0).numero(), error(validas.get(0).numero(), e.getMessage()));
+                return 0;
+            }
+            // Se reintenta línea a línea: solo se rechaza la que hizo fallar el lote
+            logger.warn("⚠️ Lote de importación rechazado, se reintenta línea a línea: {}", e.getMessage());
+            int creados = 0;
+            for (Linea linea : validas) {
+                creados += confirmarLote(List.of(linea), resultados, clientesConocidos);
+            }
+            return creados;
+        }
+    }
+
+    // Guarda los pedidos en una transacción; devuelve sus ids en el mismo orden
+    private List<Integer> guardar(List<Linea> lineas) {
+        return transactionTemplate.execute(status -> {
+            List<Pedido> pedidos = new ArrayList<>();
+            for (Linea linea : lineas) {
+                Usuario cliente = entityManager.getReference(Usuario.class, linea.pedido().getClienteDoc());
+                Pedido pedido = pedidoService.construirPedido(cliente, linea.pedido(), linea.platos());
+                entityManager.persist(pedido);
+                pedidos.add(pedido);
+            }
+            entityManager.flush();
+            pedidos.forEach(pedido -> eventos.publishEvent(PedidoEventoDTO.creado(pedido)));
+            entityManager.clear();
+            return pedidos.stream().map(Pedido::getId).toList();
+        });
+    }
+
+    private static void registrarCreados(List<Linea> lineas, List<Integer> ids, Map<Integer, Map<String, Object>> resultados) {
+        for (int i = 0; i < lineas.size(); i++) {
+            Map<String, Object> ok = new LinkedHashMap<>();
+            ok.put("linea", lineas.get(i).numero());
+            ok.put("ok", true);
+            ok.put("pedidoId", ids.get(i));
+            resultados.put(lineas.get(i).numero(), ok);
+        }
+    }
+
+    // Escribe y vacía los resultados del lote; devuelve cuántos fueron errores
+    private int escribir(Map<Integer, Map<String, Object>> resultados, OutputStream salida) throws IOException {
+        int errores = 0;
+        for (Map<String, Object> resultado : resultados.values()) {
+            if (!Boolean.TRUE.equals(resultado.get("ok"))) {
+                errores++;
+            }
+            salida.write(objectMapper.writeValueAsBytes(resultado));
+            salida.write('\n');
+        }
+        salida.flush();
+        resultados.clear();
+        return errores;
+    }
+
+    /**
+     * Como BufferedReader.readLine(), pero sin guardar más de 'maximo' caracteres:
+     * del resto de una línea más larga solo se avanza hasta el salto de línea.
+     */
+    private static final class LectorLineas {
+
+        private final BufferedReader lector;
+
+        private final int maximo;
+
+        private final StringBuilder linea = new StringBuilder();
+
+        private boolean excedida;
+
+        LectorLineas(BufferedReader lector, int maximo) {
+            this.lector = lector;
+            this.maximo = maximo;
+        }
+
+        // null al terminar la entrada; si la línea era más larga, devuelve lo leído y excedida() es true
+        String siguiente() throws IOException {
+            linea.setLength(0);
+            excedida = false;
+            int caracter = lector.read();
+            if (caracter == -1) {
+                return null;
+            }
+            while (caracter != -1 && caracter != '\n') {
+                if (linea.length() < maximo) {
+                    linea.append((char) caracter);
+                } else {
+                    excedida = true;
+                }
+                caracter = lector.read();
+            }
+            if (!linea.isEmpty() && linea.charAt(linea.length() - 1) == '\r') {
+                linea.setLength(linea.length() - 1);
+            }
+            return linea.toString();
+        }
+
+        boolean excedida() {
+            return excedida;
+        }
+    }
+
+    private static Map<String, Object> error(int linea, String mensaje) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("linea", linea);
+        error.put("ok", false);
+        error.put("error", mensaje);
+        return error;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.demo;
+
+import java.util.List;
+
+public class PedidoPaginaDTO {
+    private List<Pedido> pedidos;
+    private Integer siguienteCursor;
+
+    // Constructores
+    public PedidoPaginaDTO() {}
+
+    public PedidoPaginaDTO(List<Pedido> pedidos, Integer siguienteCursor) {
+        this.pedidos = pedidos;
+        this.siguienteCursor = siguienteCursor;
+    }
+
+    // Getters y Setters
+    public List<Pedido> getPedidos() {
+        return pedidos;
+    }
+
+    public void setPedidos(List<Pedido> pedidos) {
+        this.pedidos = pedidos;
+    }
+
+    // null cuando no hay más páginas
+    public Integer getSiguienteCursor() {
+        return siguienteCursor;
+    }
+
+    public void setSiguienteCursor(Integer siguienteCursor) {
+        this.siguienteCursor = siguienteCursor;
+    }
+}
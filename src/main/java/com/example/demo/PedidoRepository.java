@@ -1,8 +1,17 @@
 package com.example.demo;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
@@ -12,4 +21,54 @@ public interface PedidoRepository extends JpaRepository<Pedido, Integer> {
     List<Pedido> findByEstado(Estado estado);
     
     List<Pedido> findByClienteDocumento(String documento);
+
+    // Paginación por cursor: solo ids, para no paginar en memoria un fetch join
+    @Query("select p.id from Pedido p where p.id > :despuesDe order by p.id")
+    List<Integer> findIdsDespuesDe(@Param("despuesDe") Integer despuesDe, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"cliente", "items", "items.plato"})
+    @Query("select distinct p from Pedido p where p.id in :ids order by p.id")
+    List<Pedido> findConItemsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("select coalesce(sum(i.precioUnitario * i.cantidad), 0) from ItemPedido i where i.pedido.id = :pedidoId")
+    BigDecimal calcularTotal(@Param("pedidoId") Integer pedidoId);
+
+    // Pedidos FINALIZADO sin factura con su total agregado, en orden de id para avanzar por lotes
+    @Query("select new com.example.demo.TotalPedidoDTO(p.id, p.cliente.documento, sum(i.precioUnitario * i.cantidad)) "
+        + "from Pedido p join p.items i "
+        + "where p.estado = com.example.demo.Estado.FINALIZADO and p.id > :despuesDe "
+        + "and not exists (select f.id from Factura f where f.pedido = p) "
+        + "group by p.id, p.cliente.documento order by p.id")
+    List<TotalPedidoDTO> findTotalesSinFacturar(@Param("despuesDe") Integer despuesDe, Pageable pageable);
+
+    // Igual, pero solo para los pedidos indicados (facturación automática)
+    @Query("select new com.example.demo.TotalPedidoDTO(p.id, p.cliente.documento, sum(i.precioUnitario * i.cantidad)) "
+        + "from Pedido p join p.items i "
+        + "where p.estado = com.example.demo.Estado.FINALIZADO and p.id in :ids "
+        + "and not exists (select f.id from Factura f where f.pedido = p) "
+        + "group by p.id, p.cliente.documento order by p.id")
+    List<TotalPedidoDTO> findTotalesSinFacturarByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Tablero: una fila por estado y tipo de pedido, con cuántos son de hoy (fecha >= :inicioHoy)
+    @Query("select new com.example.demo.ConteoEstadoDTO(p.estado, p.esDomicilio, "
+        + "sum(case when p.fecha >= :inicioHoy then 1 else 0 end), count(p)) "
+        + "from Pedido p group by p.estado, p.esDomicilio")
+    List<ConteoEstadoDTO> contarPorEstado(@Param("inicioHoy") LocalDateTime inicioHoy);
+
+    // Vista de cocina: una fila por item con el plato solo por id (sin join a platos ni usuarios)
+    @Query("select new com.example.demo.PedidoCocinaDTO(p.id, p.fecha, p.estado, p.esDomicilio, p.version, "
+        + "i.plato.id, i.cantidad) "
+        + "from Pedido p left join p.items i "
+        + "where p.estado in :estados order by p.fecha, p.id, i.id")
+    List<PedidoCocinaDTO> findVistaCocina(@Param("estados") Collection<Estado> estados);
+
+    @Query("select p.estado from Pedido p where p.id = :id")
+    Optional<Estado> findEstadoById(@Param("id") Integer id);
+
+    // Cambio de estado en un solo UPDATE condicional: 0 filas si el estado (o la versión) ya no es el esperado
+    @Modifying(clearAutomatically = true)
+    @Query("update Pedido p set p.estado = :nuevo, p.version = p.version + 1 "
+        + "where p.id = :id and p.estado in :origenes and (:version is null or p.version = :version)")
+    int actualizarEstado(@Param("id") Integer id, @Param("origenes") Collection<Estado> origenes,
+                         @Param("nuevo") Estado nuevo, @Param("version") Long version);
 }
@@ -1,15 +1,34 @@
 package com.example.demo;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class PedidoService {
 
+    // Solo se borra un pedido FINALIZADO sin factura ni factura pendiente. En MySQL las
+    // subconsultas de un DELETE leen con bloqueo compartido: una factura para este pedido
+    // que se esté insertando a la vez espera al borrado o lo impide, nunca queda huérfana
+    private static final String BORRABLE = "estado = 'FINALIZADO' "
+        + "and not exists (select 1 from facturas where pedido_id = ?) "
+        + "and not exists (select 1 from facturas_pendientes where pedido_id = ?)";
+
+    private static final String BORRAR_ITEMS = "delete from item_pedido where pedido_id = ? "
+        + "and exists (select 1 from pedidos where id = ? and " + BORRABLE + ")";
+
+    private static final String BORRAR_PEDIDO = "delete from pedidos where id = ? and " + BORRABLE;
+
     @Autowired
     private PedidoRepository pedidoRepository;
 
@@ -17,32 +36,124 @@ public class PedidoService {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private PlatoRepository platoRepository;
+    private MenuCatalogo menuCatalogo;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
 
-    public List<Pedido> findAll() {
-        return pedidoRepository.findAll();
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private FacturacionAutomaticaService facturacionAutomatica;
+
+    @Autowired
+    private ArchivoPedidosService archivoPedidos;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Página por cursor: una consulta de ids y otra que trae todo el grafo
+    public PedidoPaginaDTO findPagina(Integer despuesDe, int tamano) {
+        List<Integer> ids = pedidoRepository.findIdsDespuesDe(
+            despuesDe != null ? despuesDe : 0, PageRequest.of(0, tamano + 1));
+        boolean hayMas = ids.size() > tamano;
+        if (hayMas) {
+            ids = ids.subList(0, tamano);
+        }
+        if (ids.isEmpty()) {
+            return new PedidoPaginaDTO(List.of(), null);
+        }
+        List<Pedido> pedidos = pedidoRepository.findConItemsByIdIn(ids);
+        return new PedidoPaginaDTO(pedidos, hayMas ? ids.get(ids.size() - 1) : null);
     }
 
     public Optional<Pedido> findById(Integer id) {
         return pedidoRepository.findById(id);
     }
 
+    public Optional<Pedido> findById(Integer id, boolean incluirArchivo) {
+        Optional<Pedido> pedido = findById(id);
+        if (pedido.isPresent() || !incluirArchivo) {
+            return pedido;
+        }
+        return archivoPedidos.findById(id).stream().findFirst();
+    }
+
     public List<Pedido> findByEstado(Estado estado) {
         return pedidoRepository.findByEstado(estado);
     }
 
+    // Vista de cocina: una fila por item; las filas de un mismo pedido llegan seguidas
+    public List<PedidoCocinaDTO> findVistaCocina(Collection<Estado> estados) {
+        List<PedidoCocinaDTO> pedidos = new ArrayList<>();
+        for (PedidoCocinaDTO fila : pedidoRepository.findVistaCocina(estados)) {
+            PedidoCocinaDTO ultimo = pedidos.isEmpty() ? null : pedidos.get(pedidos.size() - 1);
+            if (ultimo != null && ultimo.getId().equals(fila.getId())) {
+                ultimo.getItems().addAll(fila.getItems());
+            } else {
+                pedidos.add(fila);
+            }
+        }
+        return pedidos;
+    }
+
     public List<Pedido> findByClienteDoc(String documento) {
         return pedidoRepository.findByClienteDocumento(documento);
     }
 
-    @Transactional
+    // Con incluirArchivo se añaden los pedidos archivados; el resultado va en orden de id
+    public List<Pedido> findByClienteDoc(String documento, boolean incluirArchivo) {
+        List<Pedido> activos = findByClienteDoc(documento);
+        if (!incluirArchivo) {
+            return activos;
+        }
+        List<Pedido> todos = new ArrayList<>(archivoPedidos.findByClienteDoc(documento));
+        activos.forEach(pedido -> pedido.getItems().size());
+        todos.addAll(activos);
+        todos.sort(Comparator.comparing(Pedido::getId));
+        return todos;
+    }
+
     public Pedido realizarPedido(PedidoRequestDTO pedidoRequest) {
-        // 1. Validar que el usuario exista
-        Usuario cliente = usuarioRepository.findById(pedidoRequest.getClienteDoc())
-            .orElseThrow(() -> new RuntimeException("Cliente no encontrado con documento: " 
-                + pedidoRequest.getClienteDoc()));
+        // 1. Resolver todos los platos desde el catálogo en memoria, antes de abrir la transacción
+        Map<Integer, Plato> platos = resolverPlatos(pedidoRequest);
+
+        return transactionTemplate.execute(status -> {
+            // 2. Validar que el usuario exista
+            Usuario cliente = usuarioRepository.findById(pedidoRequest.getClienteDoc())
+                .orElseThrow(() -> new RuntimeException("Cliente no encontrado con documento: " 
+                    + pedidoRequest.getClienteDoc()));
 
-        // 2. Crear la cabecera del Pedido
+            // 3. Guardar el Pedido (y sus items, en cascada)
+            Pedido guardado = pedidoRepository.save(construirPedido(cliente, pedidoRequest, platos));
+
+            // 4. Avisar a las pantallas cuando la transacción se confirme
+            eventos.publishEvent(PedidoEventoDTO.creado(guardado));
+            return guardado;
+        });
+    }
+
+    // Valida los items y resuelve sus platos sin ir a la base de datos (también lo usa PedidoImportService)
+    Map<Integer, Plato> resolverPlatos(PedidoRequestDTO pedidoRequest) {
+        if (pedidoRequest.getItems() == null || pedidoRequest.getItems().isEmpty()) {
+            throw new RuntimeException("El pedido no tiene items");
+        }
+        for (ItemPedidoDTO item : pedidoRequest.getItems()) {
+            if (item == null || item.getPlatoId() == null) {
+                throw new RuntimeException("Hay un item sin platoId");
+            }
+            if (item.getCantidad() == null || item.getCantidad() <= 0) {
+                throw new RuntimeException("Cantidad inválida para el plato " + item.getPlatoId() + ": " + item.getCantidad());
+            }
+        }
+        return menuCatalogo.resolver(pedidoRequest.getItems().stream()
+            .map(ItemPedidoDTO::getPlatoId)
+            .toList());
+    }
+
+    Pedido construirPedido(Usuario cliente, PedidoRequestDTO pedidoRequest, Map<Integer, Plato> platos) {
+        // Crear la cabecera del Pedido
         Pedido nuevoPedido = new Pedido();
         nuevoPedido.setCliente(cliente);
         nuevoPedido.setEsDomicilio(pedidoRequest.getEsDomicilio() != null ? 
@@ -51,14 +162,10 @@ public class PedidoService {
 
         List<ItemPedido> items = new ArrayList<>();
 
-        // 3. Procesar cada item del carrito (DTO)
+        // Procesar cada item del carrito (DTO)
         for (ItemPedidoDTO itemDTO : pedidoRequest.getItems()) {
-            // 3.1 Validar que el plato exista
-            Plato plato = platoRepository.findById(itemDTO.getPlatoId())
-                .orElseThrow(() -> new RuntimeException("Plato no encontrado con id: " 
-                    + itemDTO.getPlatoId()));
+            Plato plato = platos.get(itemDTO.getPlatoId());
 
-            // 3.2 Crear el ItemPedido
             ItemPedido item = new ItemPedido();
             item.setPlato(plato);
             item.setCantidad(itemDTO.getCantidad());
@@ -68,26 +175,56 @@ public class PedidoService {
             items.add(item);
         }
 
-        // 4. Asignar la lista de items al pedido
         nuevoPedido.setItems(items);
-
-        // 5. Guardar el Pedido (y sus items, en cascada)
-        return pedidoRepository.save(nuevoPedido);
+        return nuevoPedido;
     }
 
-    public Optional<Pedido> updateEstado(Integer id, Estado estado) {
-        return pedidoRepository.findById(id).map(pedido -> {
-            pedido.setEstado(estado);
-            return pedidoRepository.save(pedido);
+    /**
+     * Aplica la transición con un único UPDATE condicionado al estado de origen (y a la
+     * versión, si se indica), sin cargar el pedido ni bloquear filas durante la lectura.
+     * Devuelve vacío si el pedido no existe y lanza ConflictoEstadoException si la
+     * transición no está permitida o si otra petición cambió el pedido antes.
+     */
+    public Optional<Pedido> updateEstado(Integer id, Estado estado, Long version) {
+        Set<Estado> origenes = estado.origenes();
+        int filas = origenes.isEmpty() ? 0 : transactionTemplate.execute(status -> {
+            int actualizadas = pedidoRepository.actualizarEstado(id, origenes, estado, version);
+            if (actualizadas == 1) {
+                if (estado == Estado.FINALIZADO) {
+                    // Misma transacción: la factura queda pendiente si y solo si el cambio se confirma
+                    facturacionAutomatica.encolar(id);
+                }
+                eventos.publishEvent(new PedidoEventoDTO(PedidoEventoDTO.Tipo.ESTADO, id, estado));
+            }
+            return actualizadas;
         });
+
+        if (filas == 0) {
+            Optional<Estado> actual = pedidoRepository.findEstadoById(id);
+            if (actual.isEmpty()) {
+                return Optional.empty();
+            }
+            if (!actual.get().puedePasarA(estado)) {
+                throw new ConflictoEstadoException("No se puede pasar de " + actual.get() + " a " + estado);
+            }
+            throw new ConflictoEstadoException("El pedido #" + id + " fue modificado por otra petición");
+        }
+
+        // Ya confirmado el cambio: se lee el pedido completo para la respuesta
+        return pedidoRepository.findConItemsByIdIn(List.of(id)).stream().findFirst();
     }
 
+    // Un pedido facturado no se borra (la factura lo sigue referenciando): se archiva.
+    // Comprobación y borrado van en los mismos DELETE condicionales, en una transacción
     public boolean delete(Integer id) {
-        Optional<Pedido> pedidoOpt = pedidoRepository.findById(id);
-        if (pedidoOpt.isPresent() && pedidoOpt.get().getEstado() == Estado.FINALIZADO) {
-            pedidoRepository.deleteById(id);
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.update(BORRAR_ITEMS, id, id, id, id);
+            if (jdbcTemplate.update(BORRAR_PEDIDO, id, id, id) == 0) {
+                status.setRollbackOnly();
+                return false;
+            }
+            eventos.publishEvent(new PedidoEventoDTO(PedidoEventoDTO.Tipo.ELIMINADO, id, null));
             return true;
-        }
-        return false;
+        });
     }
 }
\ No newline at end of file
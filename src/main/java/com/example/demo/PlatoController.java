@@ -3,13 +3,22 @@ package com.example.demo;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
@@ -21,13 +30,57 @@ public class PlatoController {
     private PlatoService platoService;
 
     @GetMapping
-    @Operation(summary = "Obtener todos los platos", description = "Devuelve una lista de todos los platos existentes")
+    @Operation(summary = "Obtener todos los platos", description = "Devuelve una lista de todos los platos existentes. "
+            + "La respuesta lleva ETag; si el cliente envía If-None-Match con el mismo valor se responde 304 sin cuerpo. "
+            + "Con Accept: application/cbor o application/x-jackson-smile se recibe la misma lista en binario")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de platos obtenida con éxito"),
+        @ApiResponse(responseCode = "200", description = "Lista de platos obtenida con éxito", content = {
+            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE, array = @ArraySchema(schema = @Schema(implementation = Plato.class))),
+            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE, array = @ArraySchema(schema = @Schema(implementation = Plato.class))),
+            @Content(mediaType = "application/x-jackson-smile", array = @ArraySchema(schema = @Schema(implementation = Plato.class)))}),
+        @ApiResponse(responseCode = "304", description = "El menú no ha cambiado"),
+        @ApiResponse(responseCode = "406", description = "Ninguno de los formatos de Accept está disponible"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
-    public ResponseEntity<List<Plato>> getAllPlatos() {
-        return ResponseEntity.ok(platoService.getAllPlatos());
+    public ResponseEntity<byte[]> getAllPlatos(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) @Parameter(hidden = true) String accept,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) @Parameter(hidden = true) String ifNoneMatch) {
+        MediaType tipo = elegirFormato(accept);
+        if (tipo == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        MenuCatalogo.MenuSerializado menu = platoService.getMenuSerializado(tipo);
+        if (coincideEtag(ifNoneMatch, menu.etag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(menu.etag())
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .eTag(menu.etag())
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT)
+            .contentType(menu.tipo())
+            .body(menu.cuerpo());
+    }
+
+    @GetMapping("/buscar")
+    @Operation(summary = "Buscar platos", description = "Busca en nombre y descripción de los platos sin ir a la base de datos. "
+            + "Cada palabra se busca como prefijo ('ram' encuentra 'Ramen') y deben aparecer todas; no distingue tildes ni "
+            + "mayúsculas y acepta distintas transliteraciones del japonés ('tenpura', 'shouyu', 'tukemen'). "
+            + "Los resultados van del más al menos relevante")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Platos encontrados (lista vacía si no hay coincidencias)"),
+        @ApiResponse(responseCode = "400", description = "Consulta vacía o límite inválido")
+    })
+    public ResponseEntity<List<Plato>> buscarPlatos(
+            @RequestParam @Parameter(description = "Texto a buscar", example = "ram") String q,
+            @RequestParam(defaultValue = "10") @Parameter(description = "Máximo de resultados") int limite) {
+        if (q.isBlank() || limite < 1 || limite > 100) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(platoService.buscar(q, limite));
     }
 
     @GetMapping("/{id}")
@@ -82,6 +135,42 @@ public class PlatoController {
         }
         return ResponseEntity.notFound().build();
         }
+
+    // Primer formato del menú que admite Accept, por calidad y especificidad; sin Accept, JSON
+    static MediaType elegirFormato(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> aceptados;
+        try {
+            aceptados = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(aceptados);
+        for (MediaType aceptado : aceptados) {
+            if (aceptado.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType formato : MenuCatalogo.FORMATOS_MENU) {
+                if (aceptado.isCompatibleWith(formato)) {
+                    return formato;
+                }
+            }
+        }
+        return null;
+    }
+
+    // If-None-Match puede traer varios valores, '*' o etiquetas débiles (W/)
+    private static boolean coincideEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+            .map(String::trim)
+            .map(valor -> valor.startsWith("W/") ? valor.substring(2) : valor)
+            .anyMatch(valor -> valor.equals("*") || valor.equals(etag));
+    }
 }
 	
 
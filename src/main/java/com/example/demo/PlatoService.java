@@ -1,9 +1,9 @@
 package com.example.demo;
 
+import jakarta.persistence.EntityManagerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import jakarta.annotation.PostConstruct;
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,27 +13,22 @@ public class PlatoService {
     @Autowired
     private PlatoRepository platoRepository;
 
-    // Inicializar datos de prueba
-    @PostConstruct
-    public void init() {
-        if (platoRepository.count() == 0) {
-            platoRepository.save(new Plato("Sushi clasico", 
-                "Nigiri de salmón, makis de atún, roll california", new BigDecimal("25000")));
-            platoRepository.save(new Plato("Ramen especial", 
-                "Ramen de miso con cerdo chashu", new BigDecimal("25000")));
-            platoRepository.save(new Plato("Bento Teriyaki", 
-                "Pollo teriyaki, arroz blanco, ensalada de algas", new BigDecimal("20000")));
-            platoRepository.save(new Plato("Tempura mixto", 
-                "Langostinos tempura, verduras tempura, salsa tentsuyu", new BigDecimal("20000")));
-            platoRepository.save(new Plato("Udon tradicional", 
-                "Sopa de udon con dashi, tofu frito, kamaboko", new BigDecimal("25000")));
-            platoRepository.save(new Plato("Yakisoba", 
-                "Tallarines fritos con vegetales, cerdo o pollo, salsa yakisoba", new BigDecimal("15000")));
-        }
-    }
+    @Autowired
+    private MenuCatalogo menuCatalogo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     public List<Plato> getAllPlatos() {
-        return platoRepository.findAll();
+        return menuCatalogo.getPlatos();
+    }
+
+    public MenuCatalogo.MenuSerializado getMenuSerializado(MediaType tipo) {
+        return menuCatalogo.getMenuSerializado(tipo);
+    }
+
+    public List<Plato> buscar(String consulta, int limite) {
+        return menuCatalogo.buscar(consulta, limite);
     }
 
     public Optional<Plato> findById(Integer id) {
@@ -41,22 +36,33 @@ public class PlatoService {
     }
 
     public Plato savePlato(Plato plato) {
-        return platoRepository.save(plato);
+        Plato guardado = platoRepository.save(plato);
+        menuCatalogo.invalidar();
+        return guardado;
     }
 
     public Optional<Plato> updatePlato(Integer id, Plato platoDetails) {
         return platoRepository.findById(id).map(plato -> {
             plato.setDescripcion(platoDetails.getDescripcion());
             plato.setPrecio(platoDetails.getPrecio());
-            return platoRepository.save(plato);
+            Plato guardado = platoRepository.save(plato);
+            invalidar(id);
+            return guardado;
         });
     }
 
     public boolean deletePlato(Integer id) {
         if (platoRepository.existsById(id)) {
             platoRepository.deleteById(id);
+            invalidar(id);
             return true;
         }
         return false;
     }
+
+    // El catálogo en memoria y la entrada del plato en la caché de segundo nivel
+    private void invalidar(Integer id) {
+        menuCatalogo.invalidar();
+        entityManagerFactory.getCache().evict(Plato.class, id);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.demo;
+
+/**
+ * Una petición intentó ejecutar más sentencias SQL que las permitidas por
+ * consultas.presupuesto.maximo (solo en modo rechazar). Suele indicar un N+1.
+ */
+public class PresupuestoConsultasExcedidoException extends RuntimeException {
+
+    public PresupuestoConsultasExcedidoException(int limite) {
+        super("La petición superó el presupuesto de " + limite + " sentencias SQL");
+    }
+}
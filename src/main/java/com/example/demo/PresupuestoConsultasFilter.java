@@ -0,0 +1,103 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+
+/**
+ * Cuenta las sentencias SQL de cada petición (ver ContadorConsultas) y las
+ * publica en la métrica http.server.requests.consultas por método y endpoint.
+ * Si una petición supera consultas.presupuesto.maximo:
+ *  - modo registrar: se deja terminar, se registra un aviso y se cuenta en
+ *    consultas.presupuesto.excedido;
+ *  - modo rechazar: la sentencia que excede el presupuesto falla, la
+ *    transacción se deshace y se responde 500 (si la respuesta aún no se
+ *    había enviado).
+ */
+@Component
+public class PresupuestoConsultasFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresupuestoConsultasFilter.class);
+
+    private final MeterRegistry registry;
+
+    private final int maximo;
+
+    private final boolean rechazar;
+
+    public PresupuestoConsultasFilter(MeterRegistry registry,
+                                      @Value("${consultas.presupuesto.maximo:25}") int maximo,
+                                      @Value("${consultas.presupuesto.modo:registrar}") String modo) {
+        this.registry = registry;
+        this.maximo = maximo;
+        this.rechazar = "rechazar".equalsIgnoreCase(modo);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContadorConsultas.iniciar(rechazar ? maximo : -1);
+        try {
+            chain.doFilter(request, response);
+        } catch (ServletException | RuntimeException e) {
+            if (!excedioPresupuesto(e) || response.isCommitted()) {
+                throw e;
+            }
+        } finally {
+            int total = ContadorConsultas.total();
+            ContadorConsultas.terminar();
+            registrar(request, total);
+            // Aunque el controlador haya atrapado la excepción, la respuesta (si aún se puede) es un 500
+            if (rechazar && total > maximo && !response.isCommitted()) {
+                response.reset();
+                response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+                response.setCharacterEncoding("UTF-8");
+                response.getWriter().write("Presupuesto de consultas SQL excedido");
+            }
+        }
+    }
+
+    private void registrar(HttpServletRequest request, int total) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = patron != null ? patron.toString() : "UNKNOWN";
+        DistributionSummary.builder("http.server.requests.consultas")
+            .description("Sentencias SQL ejecutadas por petición")
+            .baseUnit("sentencias")
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .register(registry)
+            .record(total);
+        if (total > maximo) {
+            Counter.builder("consultas.presupuesto.excedido")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(registry)
+                .increment();
+            logger.warn("⚠️ {} {} ejecutó {} sentencias SQL (presupuesto {}){}", request.getMethod(), uri, total, maximo,
+                rechazar ? ": petición rechazada" : "");
+        }
+    }
+
+    private static boolean excedioPresupuesto(Throwable e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof PresupuestoConsultasExcedidoException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
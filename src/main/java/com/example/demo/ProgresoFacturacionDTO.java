@@ -0,0 +1,51 @@
+package com.example.demo;
+
+import java.time.LocalDateTime;
+
+// Estado de la facturación masiva; cada lote confirmado publica una copia nueva
+public class ProgresoFacturacionDTO {
+    private boolean enCurso;
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private int lotesConfirmados;
+    private int facturasCreadas;
+    private Integer ultimoPedidoId;
+    private String error;
+
+    // Constructores
+    public ProgresoFacturacionDTO() {}
+
+    public ProgresoFacturacionDTO(boolean enCurso, LocalDateTime inicio, LocalDateTime fin, int lotesConfirmados,
+                                  int facturasCreadas, Integer ultimoPedidoId, String error) {
+        this.enCurso = enCurso;
+        this.inicio = inicio;
+        this.fin = fin;
+        this.lotesConfirmados = lotesConfirmados;
+        this.facturasCreadas = facturasCreadas;
+        this.ultimoPedidoId = ultimoPedidoId;
+        this.error = error;
+    }
+
+    // Getters y Setters
+    public boolean isEnCurso() { return enCurso; }
+    public void setEnCurso(boolean enCurso) { this.enCurso = enCurso; }
+
+    public LocalDateTime getInicio() { return inicio; }
+    public void setInicio(LocalDateTime inicio) { this.inicio = inicio; }
+
+    public LocalDateTime getFin() { return fin; }
+    public void setFin(LocalDateTime fin) { this.fin = fin; }
+
+    public int getLotesConfirmados() { return lotesConfirmados; }
+    public void setLotesConfirmados(int lotesConfirmados) { this.lotesConfirmados = lotesConfirmados; }
+
+    public int getFacturasCreadas() { return facturasCreadas; }
+    public void setFacturasCreadas(int facturasCreadas) { this.facturasCreadas = facturasCreadas; }
+
+    // Último pedido del último lote confirmado; el siguiente lote empieza después de él
+    public Integer getUltimoPedidoId() { return ultimoPedidoId; }
+    public void setUltimoPedidoId(Integer ultimoPedidoId) { this.ultimoPedidoId = ultimoPedidoId; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,101 @@
+package com.example.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura (solo si basedatos.replicas.urls tiene alguna URL).
+ * El DataSource de la aplicación pasa a ser un LazyConnectionDataSourceProxy:
+ * como no pide la conexión real hasta la primera sentencia, ya sabe si la
+ * transacción es readOnly y en ese caso la toma de ReplicasDataSource; el resto
+ * (escrituras, Flyway, transacciones sin readOnly) va a la primaria.
+ */
+@Configuration
+@ConditionalOnExpression("!'${basedatos.replicas.urls:}'.trim().isEmpty()")
+public class ReplicasConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicasConfig.class);
+
+    @Autowired
+    private ObjectProvider<ReplicasDataSource> replicas;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primariaDataSource(DataSourceProperties propiedades) {
+        return propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "cerrar")
+    ReplicasDataSource replicasDataSource(@Qualifier("primariaDataSource") DataSource primaria, DataSourceProperties propiedades,
+                                          ObjectProvider<MeterRegistry> registry,
+                                          @Value("${basedatos.replicas.urls}") List<String> urls,
+                                          @Value("${basedatos.replicas.tamano-pool:10}") int tamanoPool,
+                                          @Value("${basedatos.replicas.espera-conexion-ms:1000}") long esperaMs) {
+        List<ReplicasDataSource.Replica> replicas = new ArrayList<>();
+        for (String url : urls) {
+            String nombre = "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(nombre);
+            pool.setJdbcUrl(url.trim());
+            pool.setUsername(propiedades.determineUsername());
+            pool.setPassword(propiedades.determinePassword());
+            pool.setDriverClassName(propiedades.determineDriverClassName());
+            pool.setMaximumPoolSize(tamanoPool);
+            pool.setReadOnly(true);
+            // Espera corta: si la réplica no da conexión enseguida se lee de otra o de la primaria
+            pool.setConnectionTimeout(esperaMs);
+            // Arranca aunque la réplica esté caída; el chequeo de salud la aparta
+            pool.setInitializationFailTimeout(-1);
+            registry.ifAvailable(r -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(r)));
+            replicas.add(new ReplicasDataSource.Replica(nombre, pool));
+        }
+        logger.info("📚 Lecturas readOnly repartidas entre {} réplicas", replicas.size());
+        return new ReplicasDataSource(primaria, replicas);
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primariaDataSource") DataSource primaria, ReplicasDataSource replicasDataSource) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primaria);
+        proxy.setReadOnlyDataSource(replicasDataSource);
+        return proxy;
+    }
+
+    @Bean
+    LecturaPropiaFilter lecturaPropiaFilter(@Value("${basedatos.replicas.lectura-propia-segundos:5}") int segundos) {
+        return new LecturaPropiaFilter(segundos);
+    }
+
+    @Bean
+    MeterBinder metricasReplicas(ReplicasDataSource replicasDataSource) {
+        return registry -> replicasDataSource.getReplicas().forEach(replica ->
+            Gauge.builder("basedatos.replica.sana", replica, r -> r.isSana() ? 1 : 0)
+                .tag("replica", replica.getNombre())
+                .register(registry));
+    }
+
+    @Scheduled(fixedDelayString = "${basedatos.replicas.chequeo-ms:5000}")
+    public void comprobarReplicas() {
+        replicas.getObject().comprobarSalud(2);
+    }
+}
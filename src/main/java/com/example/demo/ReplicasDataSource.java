@@ -0,0 +1,117 @@
+package com.example.demo;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLTransientException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Conexiones de solo lectura: reparte entre las réplicas sanas por turnos y, si
+ * ninguna responde (o el hilo pidió leer lo que acaba de escribir), usa la
+ * primaria. Una réplica que no logra abrir conexiones se aparta hasta que el
+ * chequeo periódico (comprobarSalud) la vuelva a ver viva; si solo tiene el pool
+ * lleno, se prueba la siguiente sin apartarla.
+ */
+public class ReplicasDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicasDataSource.class);
+
+    public static final class Replica {
+        private final String nombre;
+        private final HikariDataSource dataSource;
+        private volatile boolean sana = true;
+
+        public Replica(String nombre, HikariDataSource dataSource) {
+            this.nombre = nombre;
+            this.dataSource = dataSource;
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public boolean isSana() {
+            return sana;
+        }
+    }
+
+    private final DataSource primaria;
+
+    private final List<Replica> replicas;
+
+    private final AtomicInteger turno = new AtomicInteger();
+
+    public ReplicasDataSource(DataSource primaria, List<Replica> replicas) {
+        this.primaria = primaria;
+        this.replicas = replicas;
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (LecturaPrimaria.forzada()) {
+            return primaria.getConnection();
+        }
+        int inicio = Math.floorMod(turno.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((inicio + i) % replicas.size());
+            if (!replica.sana) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                if (caida(e)) {
+                    replica.sana = false;
+                    logger.warn("⚠️ Réplica {} apartada: {}", replica.nombre, e.getMessage());
+                } else {
+                    logger.debug("Réplica {} sin conexiones libres: {}", replica.nombre, e.getMessage());
+                }
+            }
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String usuario, String contrasena) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Las réplicas usan las credenciales de su pool");
+    }
+
+    // Hikari lanza SQLTransientConnectionException al agotar connectionTimeout; si además
+    // no pudo abrir conexiones nuevas, trae ese fallo como causa y la réplica no responde
+    private static boolean caida(SQLException e) {
+        if (!(e instanceof SQLTransientException)) {
+            return true;
+        }
+        return e.getCause() instanceof SQLException causa && !(causa instanceof SQLTransientException);
+    }
+
+    public void comprobarSalud(int timeoutSegundos) {
+        for (Replica replica : replicas) {
+            boolean sana;
+            try (Connection conexion = replica.dataSource.getConnection()) {
+                sana = conexion.isValid(timeoutSegundos);
+            } catch (SQLException e) {
+                sana = false;
+            }
+            if (sana != replica.sana) {
+                logger.info(sana ? "✅ Réplica {} disponible de nuevo" : "⚠️ Réplica {} no responde", replica.nombre);
+            }
+            replica.sana = sana;
+        }
+    }
+
+    public void cerrar() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+}
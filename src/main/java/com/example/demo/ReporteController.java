@@ -0,0 +1,87 @@
+package com.example.demo;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/reportes")
+@Tag(name = "Reportes", description = "Reportes de ventas servidos desde tablas de acumulados")
+public class ReporteController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporteController.class);
+
+    @Autowired
+    private ResumenVentasService resumenVentasService;
+
+    @GetMapping("/ventas/dias")
+    @Transactional(readOnly = true)
+    @Operation(summary = "Ventas por día", description = "Tickets, unidades e ingresos de cada día del rango (ambos extremos incluidos), "
+            + "separando lo vendido a domicilio")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ventas por día obtenidas"),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas inválido")
+    })
+    public ResponseEntity<List<VentaDia>> getVentasPorDia(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Primer día", example = "2025-01-01") LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Último día", example = "2025-01-31") LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(resumenVentasService.ventasPorDia(desde, hasta));
+    }
+
+    @GetMapping("/ventas/horas")
+    @Transactional(readOnly = true)
+    @Operation(summary = "Ventas por hora", description = "Tickets, unidades e ingresos por día y hora (0-23) dentro del rango")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ventas por hora obtenidas"),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas inválido")
+    })
+    public ResponseEntity<List<VentaHora>> getVentasPorHora(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Primer día", example = "2025-01-01") LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Último día", example = "2025-01-31") LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(resumenVentasService.ventasPorHora(desde, hasta));
+    }
+
+    @GetMapping("/ventas/platos")
+    @Transactional(readOnly = true)
+    @Operation(summary = "Ventas por plato", description = "Unidades, tickets e ingresos de cada plato sumados sobre el rango, "
+            + "ordenados de mayor a menor ingreso")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Ventas por plato obtenidas"),
+        @ApiResponse(responseCode = "400", description = "Rango de fechas inválido")
+    })
+    public ResponseEntity<List<VentaPlatoDTO>> getVentasPorPlato(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Primer día", example = "2025-01-01") LocalDate desde,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) @Parameter(description = "Último día", example = "2025-01-31") LocalDate hasta) {
+        if (desde.isAfter(hasta)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(resumenVentasService.ventasPorPlato(desde, hasta));
+    }
+
+    @PostMapping("/ventas/reconstruir")
+    @Operation(summary = "Reconstruir acumulados", description = "Borra y recalcula todas las tablas de acumulados a partir de las facturas. "
+            + "Recorre todo el histórico: pensado para usarse fuera de horas de servicio")
+    @ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Acumulados reconstruidos. Retorna las filas escritas por tabla") })
+    public ResponseEntity<Map<String, Integer>> reconstruir() {
+        logger.info("📊 Reconstruyendo acumulados de ventas");
+        return ResponseEntity.ok(resumenVentasService.reconstruir());
+    }
+}
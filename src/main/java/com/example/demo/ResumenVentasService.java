@@ -0,0 +1,140 @@
+package com.example.demo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mantiene las tablas de acumulados (ventas_dia, ventas_hora, ventas_plato_dia).
+ * Cada factura nueva se suma con un INSERT ... SELECT ... ON DUPLICATE KEY UPDATE
+ * dentro de la misma transacción que la crea, así los reportes nunca leen
+ * facturas ni items y los acumulados quedan confirmados junto con la factura.
+ */
+@Service
+public class ResumenVentasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResumenVentasService.class);
+
+    // %1$s / %2$s: tablas de pedidos e items (las activas, o las vistas *_historico
+    // que incluyen el archivo); %3$s: filtro de facturas
+    private static final String DESDE_FACTURAS = "FROM facturas f "
+        + "JOIN %1$s p ON p.id = f.pedido_id "
+        + "JOIN %2$s i ON i.pedido_id = p.id ";
+
+    private static final String POR_DIA = "INSERT INTO ventas_dia "
+        + "(fecha, tickets, tickets_domicilio, unidades, ingresos, ingresos_domicilio) "
+        + "SELECT CAST(f.fecha AS DATE), COUNT(DISTINCT f.id), "
+        + "COUNT(DISTINCT CASE WHEN p.es_domicilio THEN f.id END), SUM(i.cantidad), "
+        + "SUM(i.precio_unitario * i.cantidad), "
+        + "SUM(CASE WHEN p.es_domicilio THEN i.precio_unitario * i.cantidad ELSE 0 END) "
+        + DESDE_FACTURAS + "%3$s"
+        + "GROUP BY CAST(f.fecha AS DATE) "
+        + "ON DUPLICATE KEY UPDATE tickets = tickets + VALUES(tickets), "
+        + "tickets_domicilio = tickets_domicilio + VALUES(tickets_domicilio), "
+        + "unidades = unidades + VALUES(unidades), ingresos = ingresos + VALUES(ingresos), "
+        + "ingresos_domicilio = ingresos_domicilio + VALUES(ingresos_domicilio)";
+
+    private static final String POR_HORA = "INSERT INTO ventas_hora "
+        + "(fecha, hora, tickets, tickets_domicilio, unidades, ingresos) "
+        + "SELECT CAST(f.fecha AS DATE), HOUR(f.fecha), COUNT(DISTINCT f.id), "
+        + "COUNT(DISTINCT CASE WHEN p.es_domicilio THEN f.id END), SUM(i.cantidad), "
+        + "SUM(i.precio_unitario * i.cantidad) "
+        + DESDE_FACTURAS + "%3$s"
+        + "GROUP BY CAST(f.fecha AS DATE), HOUR(f.fecha) "
+        + "ON DUPLICATE KEY UPDATE tickets = tickets + VALUES(tickets), "
+        + "tickets_domicilio = tickets_domicilio + VALUES(tickets_domicilio), "
+        + "unidades = unidades + VALUES(unidades), ingresos = ingresos + VALUES(ingresos)";
+
+    private static final String POR_PLATO = "INSERT INTO ventas_plato_dia "
+        + "(fecha, plato_id, tickets, unidades, unidades_domicilio, ingresos) "
+        + "SELECT CAST(f.fecha AS DATE), i.plato_id, COUNT(DISTINCT f.id), SUM(i.cantidad), "
+        + "SUM(CASE WHEN p.es_domicilio THEN i.cantidad ELSE 0 END), "
+        + "SUM(i.precio_unitario * i.cantidad) "
+        + DESDE_FACTURAS + "%3$s"
+        + "GROUP BY CAST(f.fecha AS DATE), i.plato_id "
+        + "ON DUPLICATE KEY UPDATE tickets = tickets + VALUES(tickets), "
+        + "unidades = unidades + VALUES(unidades), "
+        + "unidades_domicilio = unidades_domicilio + VALUES(unidades_domicilio), "
+        + "ingresos = ingresos + VALUES(ingresos)";
+
+    private static final String FILTRO_FACTURAS = "WHERE f.id IN (:ids) ";
+
+    private static final String[] TABLAS = {"ventas_dia", "ventas_hora", "ventas_plato_dia"};
+
+    private static final String[] CONSULTAS = {POR_DIA, POR_HORA, POR_PLATO};
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private VentaDiaRepository ventaDiaRepository;
+
+    @Autowired
+    private VentaHoraRepository ventaHoraRepository;
+
+    @Autowired
+    private VentaPlatoDiaRepository ventaPlatoDiaRepository;
+
+    public List<VentaDia> ventasPorDia(LocalDate desde, LocalDate hasta) {
+        return ventaDiaRepository.findByFechaBetweenOrderByFecha(desde, hasta);
+    }
+
+    public List<VentaHora> ventasPorHora(LocalDate desde, LocalDate hasta) {
+        return ventaHoraRepository.findByFechaBetweenOrderByFechaAscHoraAsc(desde, hasta);
+    }
+
+    public List<VentaPlatoDTO> ventasPorPlato(LocalDate desde, LocalDate hasta) {
+        return ventaPlatoDiaRepository.sumarPorPlato(desde, hasta);
+    }
+
+    /**
+     * Suma a los acumulados las facturas indicadas. Debe llamarse una sola vez por
+     * factura y en la transacción que la inserta (por eso MANDATORY).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrar(Collection<Long> facturaIds) {
+        if (facturaIds.isEmpty()) {
+            return;
+        }
+        // Las facturas aún pendientes en la sesión deben estar en la base antes del INSERT ... SELECT
+        entityManager.flush();
+        for (String consulta : CONSULTAS) {
+            entityManager.createNativeQuery(consulta.formatted("pedidos", "item_pedido", FILTRO_FACTURAS))
+                .setParameter("ids", facturaIds)
+                .executeUpdate();
+        }
+    }
+
+    /**
+     * Recalcula todos los acumulados desde las facturas, también las de pedidos
+     * archivados (ver ArchivoPedidosService). Se hace en una sola
+     * transacción para que ninguna factura creada a la vez quede contada dos veces
+     * ni se pierda; devuelve las filas escritas por tabla.
+     */
+    @Transactional
+    public Map<String, Integer> reconstruir() {
+        long inicio = System.currentTimeMillis();
+        Map<String, Integer> filas = new LinkedHashMap<>();
+        for (String tabla : TABLAS) {
+            entityManager.createNativeQuery("DELETE FROM " + tabla).executeUpdate();
+        }
+        for (int i = 0; i < CONSULTAS.length; i++) {
+            Query consulta = entityManager.createNativeQuery(
+                CONSULTAS[i].formatted("pedidos_historico", "item_pedido_historico", ""));
+            filas.put(TABLAS[i], consulta.executeUpdate());
+        }
+        logger.info("📊 Acumulados de ventas reconstruidos en {} ms: {}", System.currentTimeMillis() - inicio, filas);
+        return filas;
+    }
+}
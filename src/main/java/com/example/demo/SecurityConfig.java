@@ -1,28 +1,64 @@
 package com.example.demo;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import
         org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletResponse;
 @Configuration
 public class SecurityConfig {
+    // Fuerza de auth.bcrypt.fuerza, la misma en todas las instancias. Con 0 se calibra al arrancar según
+    // auth.bcrypt.objetivo-ms: sirve para elegir el valor en una máquina de referencia, no para producción
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${auth.bcrypt.fuerza:10}") int fuerza,
+                                           @Value("${auth.bcrypt.objetivo-ms:250}") long objetivoMs) {
+        return new BCryptPasswordEncoder(fuerza > 0 ? fuerza : BcryptCalibrador.calibrar(objetivoMs));
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
+            // Sin sesión HTTP: cada petición se autentica con el token firmado
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(new TokenAuthFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(errores -> errores.authenticationEntryPoint(sinToken()))
             .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/api/**").permitAll()  // ✅ Esto DEBERÍA funcionar
+                // La petición ya se autorizó al entrar; el reenvío asíncrono (CompletableFuture, SSE)
+                // y el de errores no vuelven a pasar por TokenAuthFilter
+                .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+                // Públicos: login, registro y lectura del menú; el resto de la API exige token
+                .requestMatchers(HttpMethod.POST, "/api/usuarios/login", "/api/usuarios").permitAll()
+                .requestMatchers(HttpMethod.GET, "/api/platos", "/api/platos/**").permitAll()
+                .requestMatchers("/api/**").authenticated()
+                // Documentación: springdoc en desarrollo y el archivo generado al compilar en el perfil "prod"
+                .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html", "/openapi.json").permitAll()
+                // Salud y scraping de Prometheus sin token; el resto de Actuator solo para ADMIN
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .anyRequest().authenticated()
             );
         return http.build();
     }
-}
\ No newline at end of file
+
+    // 401 con el esquema Bearer a quien llega sin token válido a una ruta protegida.
+    // setStatus y no sendError: sendError reenvía a /error y se pierde la cabecera
+    private static AuthenticationEntryPoint sinToken() {
+        return (request, response, error) -> {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setHeader(HttpHeaders.WWW_AUTHENTICATE,
+                request.getAttribute(TokenAuthFilter.TOKEN_INVALIDO) != null ? "Bearer error=\"invalid_token\"" : "Bearer");
+        };
+    }
+}
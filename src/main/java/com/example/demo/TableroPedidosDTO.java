@@ -0,0 +1,77 @@
+package com.example.demo;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Conteo de pedidos por estado para el tablero de gerencia. Cada estado trae el
+ * total y el desglose a domicilio / en local, y cada conteo separa los pedidos
+ * de hoy de los anteriores (lo que quedó pendiente de otros días).
+ */
+public class TableroPedidosDTO {
+    private final LocalDateTime generado;
+    private final Map<Estado, PorEstado> estados = new EnumMap<>(Estado.class);
+
+    public TableroPedidosDTO(LocalDateTime generado) {
+        this.generado = generado;
+        for (Estado estado : Estado.values()) {
+            estados.put(estado, new PorEstado());
+        }
+    }
+
+    void sumar(ConteoEstadoDTO fila) {
+        PorEstado porEstado = estados.get(fila.getEstado());
+        porEstado.total.sumar(fila);
+        (Boolean.TRUE.equals(fila.getEsDomicilio()) ? porEstado.domicilio : porEstado.local).sumar(fila);
+    }
+
+    // Momento de la consulta; con la caché del tablero puede tener hasta pedidos.tablero.ttl-ms de antigüedad
+    public LocalDateTime getGenerado() {
+        return generado;
+    }
+
+    public Map<Estado, PorEstado> getEstados() {
+        return estados;
+    }
+
+    public static class PorEstado {
+        private final Conteo total = new Conteo();
+        private final Conteo domicilio = new Conteo();
+        private final Conteo local = new Conteo();
+
+        public Conteo getTotal() {
+            return total;
+        }
+
+        public Conteo getDomicilio() {
+            return domicilio;
+        }
+
+        public Conteo getLocal() {
+            return local;
+        }
+    }
+
+    public static class Conteo {
+        private long hoy;
+        private long anteriores;
+
+        private void sumar(ConteoEstadoDTO fila) {
+            hoy += fila.getHoy();
+            anteriores += fila.getTotal() - fila.getHoy();
+        }
+
+        public long getHoy() {
+            return hoy;
+        }
+
+        public long getAnteriores() {
+            return anteriores;
+        }
+
+        public long getTotal() {
+            return hoy + anteriores;
+        }
+    }
+}
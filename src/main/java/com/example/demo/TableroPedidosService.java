@@ -0,0 +1,78 @@
+package com.example.demo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tablero de pedidos por estado con una caché de vida muy corta (pedidos.tablero.ttl-ms).
+ * Todas las pantallas que refrescan a la vez comparten el mismo resultado: cuando
+ * caduca, solo una petición consulta la base de datos y las demás esperan su
+ * resultado en vez de lanzar la misma consulta, así que hay como mucho una
+ * consulta por intervalo. Se usa un ReentrantLock y no synchronized para no
+ * fijar el hilo de plataforma si se ejecuta en hilos virtuales.
+ */
+@Service
+public class TableroPedidosService {
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    private final long ttlNanos;
+
+    private final ReentrantLock recalculo = new ReentrantLock();
+
+    private final Counter aciertos;
+
+    private final Counter consultas;
+
+    private record Instantanea(TableroPedidosDTO tablero, long expira) {}
+
+    private volatile Instantanea instantanea;
+
+    public TableroPedidosService(MeterRegistry registry, @Value("${pedidos.tablero.ttl-ms:500}") long ttlMs) {
+        this.ttlNanos = ttlMs * 1_000_000;
+        this.aciertos = Counter.builder("pedidos.tablero.cache").tag("resultado", "acierto").register(registry);
+        this.consultas = Counter.builder("pedidos.tablero.cache").tag("resultado", "consulta").register(registry);
+    }
+
+    public TableroPedidosDTO getTablero() {
+        Instantanea actual = instantanea;
+        if (vigente(actual)) {
+            aciertos.increment();
+            return actual.tablero();
+        }
+        recalculo.lock();
+        try {
+            // Otra petición pudo recalcularlo mientras se esperaba el lock
+            actual = instantanea;
+            if (vigente(actual)) {
+                aciertos.increment();
+                return actual.tablero();
+            }
+            TableroPedidosDTO tablero = consultar();
+            instantanea = new Instantanea(tablero, System.nanoTime() + ttlNanos);
+            consultas.increment();
+            return tablero;
+        } finally {
+            recalculo.unlock();
+        }
+    }
+
+    private static boolean vigente(Instantanea instantanea) {
+        return instantanea != null && System.nanoTime() - instantanea.expira() < 0;
+    }
+
+    private TableroPedidosDTO consultar() {
+        LocalDateTime ahora = LocalDateTime.now();
+        TableroPedidosDTO tablero = new TableroPedidosDTO(ahora);
+        LocalDateTime inicioHoy = LocalDate.from(ahora).atStartOfDay();
+        pedidoRepository.contarPorEstado(inicioHoy).forEach(tablero::sumar);
+        return tablero;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Autentica la petición con el token "Authorization: Bearer ..." emitido en el login.
+ * Sin token, o con uno inválido, expirado o revocado, la petición sigue anónima y
+ * deciden las reglas de SecurityConfig: las rutas públicas (como el login, al que un
+ * cliente puede llegar con un token caducado) responden igual, las demás con 401.
+ */
+public class TokenAuthFilter extends OncePerRequestFilter {
+
+    private static final String PREFIJO = "Bearer ";
+
+    /** Atributo de la petición que marca un token rechazado, para el WWW-Authenticate del 401. */
+    public static final String TOKEN_INVALIDO = TokenAuthFilter.class.getName() + ".TOKEN_INVALIDO";
+
+    private final TokenService tokenService;
+
+    public TokenAuthFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cabecera = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (cabecera == null || !cabecera.startsWith(PREFIJO)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Optional<TokenService.Sesion> sesion = tokenService.verificar(cabecera.substring(PREFIJO.length()).trim());
+        if (sesion.isEmpty()) {
+            SecurityContextHolder.clearContext();
+            request.setAttribute(TOKEN_INVALIDO, Boolean.TRUE);
+            chain.doFilter(request, response);
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken autenticacion = new UsernamePasswordAuthenticationToken(
+            sesion.get().documento(), null, List.of(new SimpleGrantedAuthority("ROLE_" + sesion.get().rol())));
+        autenticacion.setDetails(sesion.get());
+        SecurityContextHolder.getContext().setAuthentication(autenticacion);
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.demo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens de sesión firmados con HMAC-SHA256 y una clave local.
+ * Formato: base64url(documento|rol|expira|jti) + "." + base64url(firma).
+ * Verificar un token es una firma y una búsqueda en memoria, sin BCrypt ni base de datos.
+ */
+@Service
+public class TokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenService.class);
+
+    private static final String ALGORITMO = "HmacSHA256";
+
+    private static final Base64.Encoder CODIFICADOR = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODIFICADOR = Base64.getUrlDecoder();
+
+    private final SecretKeySpec clave;
+
+    private final long duracionSegundos;
+
+    // Mac no es thread-safe; una instancia por hilo evita crearla en cada petición
+    private final ThreadLocal<Mac> mac;
+
+    // jti revocado → instante de expiración (se purga cuando el token ya habría caducado)
+    private final Map<String, Long> revocados = new ConcurrentHashMap<>();
+
+    public record Sesion(String documento, Rol rol, long expira, String jti) {}
+
+    public TokenService(@Value("${auth.token.secreto:}") String secreto,
+                        @Value("${auth.token.duracion-minutos:480}") long duracionMinutos) {
+        byte[] bytesClave;
+        if (secreto.isBlank()) {
+            logger.warn("⚠️ auth.token.secreto no está configurado: se usa una clave aleatoria y los tokens no sobreviven a un reinicio");
+            bytesClave = new byte[32];
+            new SecureRandom().nextBytes(bytesClave);
+        } else {
+            bytesClave = Base64.getDecoder().decode(secreto);
+        }
+        this.clave = new SecretKeySpec(bytesClave, ALGORITMO);
+        this.duracionSegundos = duracionMinutos * 60;
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac nuevo = Mac.getInstance(ALGORITMO);
+                nuevo.init(clave);
+                return nuevo;
+            } catch (GeneralSecurityException e) {
+                throw new RuntimeException("No se pudo inicializar " + ALGORITMO, e);
+            }
+        });
+    }
+
+    public long getDuracionSegundos() {
+        return duracionSegundos;
+    }
+
+    public String emitir(Usuario usuario) {
+        long expira = Instant.now().getEpochSecond() + duracionSegundos;
+        String datos = usuario.getDocumento() + "|" + usuario.getRol() + "|" + expira + "|" + UUID.randomUUID();
+        byte[] bytesDatos = datos.getBytes(StandardCharsets.UTF_8);
+        return CODIFICADOR.encodeToString(bytesDatos) + "." + CODIFICADOR.encodeToString(firmar(bytesDatos));
+    }
+
+    /** Devuelve la sesión si la firma es válida, no ha expirado y no fue revocada. */
+    public Optional<Sesion> verificar(String token) {
+        try {
+            int punto = token.indexOf('.');
+            if (punto <= 0) {
+                return Optional.empty();
+            }
+            byte[] datos = DECODIFICADOR.decode(token.substring(0, punto));
+            byte[] firma = DECODIFICADOR.decode(token.substring(punto + 1));
+            if (!MessageDigest.isEqual(firma, firmar(datos))) {
+                return Optional.empty();
+            }
+            String[] partes = new String(datos, StandardCharsets.UTF_8).split("\\|");
+            if (partes.length != 4) {
+                return Optional.empty();
+            }
+            Sesion sesion = new Sesion(partes[0], Rol.valueOf(partes[1]), Long.parseLong(partes[2]), partes[3]);
+            if (sesion.expira() < Instant.now().getEpochSecond() || revocados.containsKey(sesion.jti())) {
+                return Optional.empty();
+            }
+            return Optional.of(sesion);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void revocar(Sesion sesion) {
+        long ahora = Instant.now().getEpochSecond();
+        revocados.values().removeIf(expira -> expira < ahora);
+        revocados.put(sesion.jti(), sesion.expira());
+    }
+
+    private byte[] firmar(byte[] datos) {
+        return mac.get().doFinal(datos);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo;
+
+import java.math.BigDecimal;
+
+// Total de un pedido calculado en la base de datos (sum(precioUnitario * cantidad))
+public class TotalPedidoDTO {
+    private final Integer pedidoId;
+    private final String clienteDoc;
+    private final BigDecimal total;
+
+    public TotalPedidoDTO(Integer pedidoId, String clienteDoc, BigDecimal total) {
+        this.pedidoId = pedidoId;
+        this.clienteDoc = clienteDoc;
+        this.total = total;
+    }
+
+    public Integer getPedidoId() {
+        return pedidoId;
+    }
+
+    public String getClienteDoc() {
+        return clienteDoc;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+}
@@ -6,11 +6,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/usuarios")
@@ -20,6 +23,9 @@ public class UsuarioController {
     @Autowired
     private UsuarioService usuarioService;
 
+    @Autowired
+    private TokenService tokenService;
+
     @GetMapping
     @Operation(summary = "Obtener todos los usuarios", description = "Devuelve una lista de todos los usuarios existentes")
     @ApiResponses(value = {
@@ -75,32 +81,68 @@ public class UsuarioController {
     @Operation(summary = "Crear un nuevo usuario", description = "Crea un nuevo usuario con los datos proporcionados")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Usuario creado con éxito"),
-        @ApiResponse(responseCode = "409", description = "Conflicto - El usuario ya existe")
+        @ApiResponse(responseCode = "409", description = "Conflicto - El usuario ya existe"),
+        @ApiResponse(responseCode = "503", description = "Servicio de contraseñas saturado, reintentar según Retry-After")
     })
-    public ResponseEntity<Usuario> createUsuario(
+    public CompletableFuture<ResponseEntity<Usuario>> createUsuario(
             @RequestBody @Parameter(description = "Datos del usuario a crear") Usuario usuario) {
-        Usuario newUsuario = usuarioService.saveUsuario(usuario);
-        if (newUsuario == null) {
-            return new ResponseEntity<>(HttpStatus.CONFLICT);
-        }
-        return new ResponseEntity<>(newUsuario, HttpStatus.CREATED);
+        return usuarioService.saveUsuario(usuario)
+            .thenApply(newUsuario -> newUsuario == null
+                ? new ResponseEntity<Usuario>(HttpStatus.CONFLICT)
+                : new ResponseEntity<>(newUsuario, HttpStatus.CREATED))
+            .exceptionally(UsuarioController::saturado);
     }
 
     @PostMapping("/login")
-    @Operation(summary = "Inicio de sesión", description = "Inicia sesión con usuario y contraseña")
+    @Operation(summary = "Inicio de sesión", description = "Inicia sesión con usuario y contraseña. "
+            + "El token de sesión se devuelve en la cabecera X-Auth-Token y se envía en las siguientes peticiones como 'Authorization: Bearer <token>'")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Login exitoso"),
-        @ApiResponse(responseCode = "401", description = "Credenciales inválidas")
+        @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
+        @ApiResponse(responseCode = "503", description = "Servicio de contraseñas saturado, reintentar según Retry-After")
     })
-    public ResponseEntity<Usuario> login(
+    public CompletableFuture<ResponseEntity<Usuario>> login(
             @RequestBody @Parameter(description = "Credenciales (usuario y contraseña)") Map<String, String> credentials) {
         String username = credentials.get("usuario");
         String password = credentials.get("contraseña");
         
-        Usuario usuario = usuarioService.login(username, password);
-        if (usuario != null) {
-            return ResponseEntity.ok(usuario);
+        return usuarioService.login(username, password)
+            .thenApply(usuario -> usuario == null
+                ? new ResponseEntity<Usuario>(HttpStatus.UNAUTHORIZED)
+                : ResponseEntity.ok()
+                    .header("X-Auth-Token", tokenService.emitir(usuario))
+                    .header("X-Auth-Token-Expira", String.valueOf(tokenService.getDuracionSegundos()))
+                    .body(usuario))
+            .exceptionally(UsuarioController::saturado);
+        }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Cierre de sesión", description = "Revoca el token enviado en la cabecera Authorization")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Token revocado"),
+        @ApiResponse(responseCode = "401", description = "Token ausente, inválido o expirado")
+    })
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) @Parameter(hidden = true) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
         }
-        return new ResponseEntity<>(HttpStatus.UNAUTHORIZED);
+        return tokenService.verificar(authorization.substring("Bearer ".length()).trim())
+            .map(sesion -> {
+                tokenService.revocar(sesion);
+                return ResponseEntity.noContent().<Void>build();
+            })
+            .orElseGet(() -> new ResponseEntity<>(HttpStatus.UNAUTHORIZED));
+    }
+
+    // 503 si el pool de hashing estaba lleno; cualquier otro error sigue su curso
+    private static <T> ResponseEntity<T> saturado(Throwable error) {
+        Throwable causa = error instanceof CompletionException ? error.getCause() : error;
+        if (!(causa instanceof HashingSaturadoException saturado)) {
+            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
         }
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(saturado.getReintentarEnSegundos()))
+            .build();
+    }
 }
@@ -1,16 +1,30 @@
 package com.example.demo;
 
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, String> {
+
+    /** Región de la caché de consultas de usuarios; UsuarioService la vacía al escribir. */
+    String REGION_CONSULTAS = "usuarios-consultas";
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGION_CONSULTAS)
+    })
     Optional<Usuario> findByUsuario(String usuario);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = REGION_CONSULTAS)
+    })
     List<Usuario> findByRol(Rol rol);
     
     boolean existsByUsuario(String usuario);
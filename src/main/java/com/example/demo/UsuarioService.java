@@ -1,11 +1,15 @@
 package com.example.demo;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.stereotype.Service;
-import jakarta.annotation.PostConstruct;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UsuarioService {
@@ -14,30 +18,16 @@ public class UsuarioService {
     private UsuarioRepository usuarioRepository;
 
     @Autowired
-    private PasswordEncoder passwordEncoder;
+    private PasswordHashingService passwordHashing;
 
-    // Inicializar datos de prueba
-    @PostConstruct
-    public void init() {
-        if (usuarioRepository.count() == 0) {
-            // Admin
-            Usuario admin = new Usuario("Admin", "114", "309975", "hola3", "Admin", 
-                                       passwordEncoder.encode("4"), Rol.ADMIN);
-            usuarioRepository.save(admin);
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
-            // Meseros
-            Usuario mesero1 = new Usuario("Juan Pérez", "111", "302345", "hola", "Mesero1", 
-                                         passwordEncoder.encode("1"), Rol.MESERO);
-            Usuario mesero2 = new Usuario("Maria Lopez", "112", "303678", "hola1", "Mesero2", 
-                                         passwordEncoder.encode("2"), Rol.MESERO);
-            Usuario mesero3 = new Usuario("Carlos Ruiz", "113", "309874", "hola2", "Mesero3", 
-                                         passwordEncoder.encode("3"), Rol.MESERO);
-            
-            usuarioRepository.save(mesero1);
-            usuarioRepository.save(mesero2);
-            usuarioRepository.save(mesero3);
-        }
-    }
+    // Los guardados tras un hash van aquí y no al pool de BCrypt: una escritura lenta
+    // en la base de datos no debe ocupar uno de sus pocos hilos
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    private Executor tareas;
 
     public List<Usuario> findAllUsuarios() {
         return usuarioRepository.findAll();
@@ -55,32 +45,59 @@ public class UsuarioService {
         return usuarioRepository.findByRol(rol);
     }
 
-    public Usuario saveUsuario(Usuario usuario) {
+    // El hash se calcula en el pool de PasswordHashingService; el resultado es null si el usuario ya existe
+    public CompletableFuture<Usuario> saveUsuario(Usuario usuario) {
         // Verificar si el nombre de usuario ya existe
         if (usuarioRepository.existsByUsuario(usuario.getUsuario())) {
-            return null;
+            return CompletableFuture.completedFuture(null);
         }
         
-        // Encriptar contraseña
-        usuario.setContraseña(passwordEncoder.encode(usuario.getContraseña()));
-        
         // Asignar rol CLIENTE por defecto si no tiene
         if (usuario.getRol() == null) {
             usuario.setRol(Rol.CLIENTE);
         }
         
-        return usuarioRepository.save(usuario);
+        // Encriptar contraseña en el pool de BCrypt y guardar fuera de él
+        return passwordHashing.codificar(usuario.getContraseña()).thenApplyAsync(hash -> {
+            usuario.setContraseña(hash);
+            Usuario guardado = usuarioRepository.save(usuario);
+            vaciarConsultasCacheadas();
+            return guardado;
+        }, tareas);
     }
 
-    public Usuario login(String username, String password) {
+    // El resultado es null si el usuario no existe o la contraseña no coincide
+    public CompletableFuture<Usuario> login(String username, String password) {
         Optional<Usuario> usuarioOpt = usuarioRepository.findByUsuario(username);
-        
-        if (usuarioOpt.isPresent()) {
-            Usuario usuario = usuarioOpt.get();
-            if (passwordEncoder.matches(password, usuario.getContraseña())) {
-                return usuario;
-            }
+        if (usuarioOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
-        return null;
+
+        Usuario usuario = usuarioOpt.get();
+        return passwordHashing.verificar(password, usuario.getContraseña()).thenCompose(valida -> {
+            if (!valida) {
+                return CompletableFuture.completedFuture(null);
+            }
+            // Rehash transparente si el hash es de una fuerza menor que la configurada
+            if (!passwordHashing.necesitaRehash(usuario.getContraseña())) {
+                return CompletableFuture.completedFuture(usuario);
+            }
+            return passwordHashing.codificar(password).handleAsync((hash, error) -> {
+                // Con el pool saturado el login vale igual; el rehash queda para el siguiente
+                if (error == null) {
+                    usuario.setContraseña(hash);
+                    usuarioRepository.save(usuario);
+                    vaciarConsultasCacheadas();
+                }
+                return usuario;
+            }, tareas);
+        });
+    }
+
+    // Las entidades Usuario las actualiza Hibernate en la caché al guardar; los
+    // resultados de findByUsuario/findByRol se descartan aquí de forma explícita
+    private void vaciarConsultasCacheadas() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache()
+            .evictQueryRegion(UsuarioRepository.REGION_CONSULTAS);
     }
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.example.demo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+// Acumulado de ventas por día; lo mantiene ResumenVentasService, no se escribe desde JPA
+@Entity
+@Immutable
+@Table(name = "ventas_dia")
+public class VentaDia {
+
+    @Id
+    private LocalDate fecha;
+
+    @Column(nullable = false)
+    private long tickets;
+
+    @Column(nullable = false)
+    private long ticketsDomicilio;
+
+    @Column(nullable = false)
+    private long unidades;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresosDomicilio;
+
+    // Constructores
+    public VentaDia() {}
+
+    // Getters
+    public LocalDate getFecha() { return fecha; }
+
+    public long getTickets() { return tickets; }
+
+    public long getTicketsDomicilio() { return ticketsDomicilio; }
+
+    public long getUnidades() { return unidades; }
+
+    public BigDecimal getIngresos() { return ingresos; }
+
+    public BigDecimal getIngresosDomicilio() { return ingresosDomicilio; }
+}
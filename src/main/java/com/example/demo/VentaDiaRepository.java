@@ -0,0 +1,12 @@
+package com.example.demo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VentaDiaRepository extends JpaRepository<VentaDia, LocalDate> {
+
+    List<VentaDia> findByFechaBetweenOrderByFecha(LocalDate desde, LocalDate hasta);
+}
@@ -0,0 +1,67 @@
+package com.example.demo;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+// Acumulado de ventas por día y hora (0-23); lo mantiene ResumenVentasService
+@Entity
+@Immutable
+@Table(name = "ventas_hora")
+@IdClass(VentaHora.Clave.class)
+public class VentaHora {
+
+    @Id
+    private LocalDate fecha;
+
+    @Id
+    private Integer hora;
+
+    @Column(nullable = false)
+    private long tickets;
+
+    @Column(nullable = false)
+    private long ticketsDomicilio;
+
+    @Column(nullable = false)
+    private long unidades;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    // Constructores
+    public VentaHora() {}
+
+    // Getters
+    public LocalDate getFecha() { return fecha; }
+
+    public Integer getHora() { return hora; }
+
+    public long getTickets() { return tickets; }
+
+    public long getTicketsDomicilio() { return ticketsDomicilio; }
+
+    public long getUnidades() { return unidades; }
+
+    public BigDecimal getIngresos() { return ingresos; }
+
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Integer hora;
+
+        public Clave() {}
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave otra && Objects.equals(fecha, otra.fecha) && Objects.equals(hora, otra.hora);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fecha, hora);
+        }
+    }
+}
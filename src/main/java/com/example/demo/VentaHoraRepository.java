@@ -0,0 +1,12 @@
+package com.example.demo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VentaHoraRepository extends JpaRepository<VentaHora, VentaHora.Clave> {
+
+    List<VentaHora> findByFechaBetweenOrderByFechaAscHoraAsc(LocalDate desde, LocalDate hasta);
+}
@@ -0,0 +1,48 @@
+package com.example.demo;
+
+import java.math.BigDecimal;
+
+// Ventas de un plato sumadas sobre un rango de días
+public class VentaPlatoDTO {
+    private final Integer platoId;
+    private final String nombre;
+    private final long tickets;
+    private final long unidades;
+    private final long unidadesDomicilio;
+    private final BigDecimal ingresos;
+
+    // Constructores
+    public VentaPlatoDTO(Integer platoId, String nombre, Long tickets, Long unidades, Long unidadesDomicilio, BigDecimal ingresos) {
+        this.platoId = platoId;
+        this.nombre = nombre;
+        this.tickets = tickets;
+        this.unidades = unidades;
+        this.unidadesDomicilio = unidadesDomicilio;
+        this.ingresos = ingresos;
+    }
+
+    // Getters
+    public Integer getPlatoId() {
+        return platoId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public long getTickets() {
+        return tickets;
+    }
+
+    public long getUnidades() {
+        return unidades;
+    }
+
+    public long getUnidadesDomicilio() {
+        return unidadesDomicilio;
+    }
+
+    public BigDecimal getIngresos() {
+        return ingresos;
+    }
+}
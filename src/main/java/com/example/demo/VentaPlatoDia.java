@@ -0,0 +1,68 @@
+package com.example.demo;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+// Acumulado de ventas por día y plato; lo mantiene ResumenVentasService.
+// plato_id no es FK para que borrar un plato no afecte al histórico
+@Entity
+@Immutable
+@Table(name = "ventas_plato_dia")
+@IdClass(VentaPlatoDia.Clave.class)
+public class VentaPlatoDia {
+
+    @Id
+    private LocalDate fecha;
+
+    @Id
+    private Integer platoId;
+
+    @Column(nullable = false)
+    private long tickets;
+
+    @Column(nullable = false)
+    private long unidades;
+
+    @Column(nullable = false)
+    private long unidadesDomicilio;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal ingresos;
+
+    // Constructores
+    public VentaPlatoDia() {}
+
+    // Getters
+    public LocalDate getFecha() { return fecha; }
+
+    public Integer getPlatoId() { return platoId; }
+
+    public long getTickets() { return tickets; }
+
+    public long getUnidades() { return unidades; }
+
+    public long getUnidadesDomicilio() { return unidadesDomicilio; }
+
+    public BigDecimal getIngresos() { return ingresos; }
+
+    public static class Clave implements Serializable {
+        private LocalDate fecha;
+        private Integer platoId;
+
+        public Clave() {}
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Clave otra && Objects.equals(fecha, otra.fecha) && Objects.equals(platoId, otra.platoId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(fecha, platoId);
+        }
+    }
+}
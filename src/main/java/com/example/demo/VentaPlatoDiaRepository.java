@@ -0,0 +1,19 @@
+package com.example.demo;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface VentaPlatoDiaRepository extends JpaRepository<VentaPlatoDia, VentaPlatoDia.Clave> {
+
+    @Query("select new com.example.demo.VentaPlatoDTO(v.platoId, pl.nombre, sum(v.tickets), sum(v.unidades), "
+        + "sum(v.unidadesDomicilio), sum(v.ingresos)) "
+        + "from VentaPlatoDia v left join Plato pl on pl.id = v.platoId "
+        + "where v.fecha between :desde and :hasta "
+        + "group by v.platoId, pl.nombre order by sum(v.ingresos) desc")
+    List<VentaPlatoDTO> sumarPorPlato(@Param("desde") LocalDate desde, @Param("hasta") LocalDate hasta);
+}
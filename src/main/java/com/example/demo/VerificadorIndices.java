@@ -0,0 +1,102 @@
+package com.example.demo;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Comprueba al arrancar que existen los índices de los que dependen las
+ * consultas de los repositorios (ver db/migration/V2__indices_de_consulta.sql).
+ * Basta con cualquier índice cuyas primeras columnas sean las esperadas, en
+ * ese orden. Si falta alguno la aplicación no arranca; se desactiva con
+ * basedatos.verificar-indices=false.
+ */
+@Component
+public class VerificadorIndices {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerificadorIndices.class);
+
+    private record Indice(String tabla, List<String> columnas) {}
+
+    private static final List<Indice> ESPERADOS = List.of(
+        new Indice("pedidos", List.of("estado", "fecha")),
+        new Indice("pedidos", List.of("cliente_doc", "fecha")),
+        new Indice("item_pedido", List.of("pedido_id")),
+        new Indice("facturas", List.of("usuario_doc", "fecha")),
+        new Indice("facturas", List.of("pedido_id")),
+        new Indice("facturas", List.of("fecha")),
+        new Indice("usuarios", List.of("usuario")),
+        new Indice("usuarios", List.of("rol")),
+        new Indice("facturas_pendientes", List.of("proximo_intento")),
+        new Indice("pedidos_archivo", List.of("cliente_doc", "fecha")),
+        new Indice("item_pedido_archivo", List.of("pedido_id")));
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Se inyecta para que las migraciones (y la validación del esquema) terminen antes de revisar índices
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${basedatos.verificar-indices:true}")
+    private boolean verificar;
+
+    @PostConstruct
+    public void verificar() throws SQLException {
+        if (!verificar) {
+            return;
+        }
+        List<Indice> faltantes = new ArrayList<>();
+        try (Connection conexion = dataSource.getConnection()) {
+            DatabaseMetaData metadatos = conexion.getMetaData();
+            for (Indice esperado : ESPERADOS) {
+                if (!existe(metadatos, conexion, esperado)) {
+                    faltantes.add(esperado);
+                }
+            }
+        }
+        if (!faltantes.isEmpty()) {
+            throw new IllegalStateException("Faltan índices en la base de datos: " + faltantes
+                + ". Revisa las migraciones de db/migration o desactiva basedatos.verificar-indices");
+        }
+        logger.info("✅ Índices verificados: {}", ESPERADOS.size());
+    }
+
+    private static boolean existe(DatabaseMetaData metadatos, Connection conexion, Indice esperado) throws SQLException {
+        // nombre del índice → columnas en orden
+        Map<String, Map<Integer, String>> indices = new TreeMap<>();
+        for (String tabla : List.of(esperado.tabla(), esperado.tabla().toUpperCase(Locale.ROOT))) {
+            try (ResultSet filas = metadatos.getIndexInfo(conexion.getCatalog(), conexion.getSchema(), tabla, false, false)) {
+                while (filas.next()) {
+                    String nombre = filas.getString("INDEX_NAME");
+                    String columna = filas.getString("COLUMN_NAME");
+                    if (nombre != null && columna != null) {
+                        indices.computeIfAbsent(nombre, n -> new TreeMap<>())
+                            .put((int) filas.getShort("ORDINAL_POSITION"), columna.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+            if (!indices.isEmpty()) {
+                break;
+            }
+        }
+        return indices.values().stream()
+            .map(columnas -> new ArrayList<>(columnas.values()))
+            .anyMatch(columnas -> columnas.size() >= esperado.columnas().size()
+                && columnas.subList(0, esperado.columnas().size()).equals(esperado.columnas()));
+    }
+}
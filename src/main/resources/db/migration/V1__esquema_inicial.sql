@@ -0,0 +1,102 @@
+-- Esquema tal como lo dejaba spring.jpa.hibernate.ddl-auto=update (mismos nombres de
+-- restricciones que genera Hibernate), para que las bases existentes puedan tomarse
+-- como línea base (spring.flyway.baseline-on-migrate) y las nuevas queden idénticas.
+
+CREATE TABLE usuarios (
+    telefono varchar(15),
+    documento varchar(20) NOT NULL,
+    usuario varchar(50) NOT NULL,
+    contraseña varchar(255) NOT NULL,
+    direccion varchar(255),
+    nombre varchar(255) NOT NULL,
+    rol enum ('ADMIN','CLIENTE','MESERO') NOT NULL,
+    PRIMARY KEY (documento)
+) ENGINE=InnoDB;
+
+CREATE TABLE platos (
+    id integer NOT NULL AUTO_INCREMENT,
+    precio decimal(10,2) NOT NULL,
+    nombre varchar(100) NOT NULL,
+    descripcion varchar(255),
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE pedidos (
+    es_domicilio bit NOT NULL,
+    id integer NOT NULL,
+    fecha datetime(6) NOT NULL,
+    version bigint NOT NULL,
+    cliente_doc varchar(20) NOT NULL,
+    estado enum ('FINALIZADO','PENDIENTE','PREPARACION') NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE item_pedido (
+    cantidad integer NOT NULL,
+    id integer NOT NULL,
+    pedido_id integer NOT NULL,
+    plato_id integer NOT NULL,
+    precio_unitario decimal(10,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE facturas (
+    pedido_id integer NOT NULL,
+    total decimal(10,2) NOT NULL,
+    fecha datetime(6) NOT NULL,
+    id bigint NOT NULL,
+    usuario_doc varchar(20) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- Contadores de ids por bloques (ver GeneradorIds); las filas las crea la aplicación
+CREATE TABLE id_generador (
+    siguiente bigint,
+    entidad varchar(255) NOT NULL,
+    PRIMARY KEY (entidad)
+) ENGINE=InnoDB;
+
+-- Acumulados de ventas (ver ResumenVentasService)
+CREATE TABLE ventas_dia (
+    fecha date NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    ingresos_domicilio decimal(14,2) NOT NULL,
+    tickets bigint NOT NULL,
+    tickets_domicilio bigint NOT NULL,
+    unidades bigint NOT NULL,
+    PRIMARY KEY (fecha)
+) ENGINE=InnoDB;
+
+CREATE TABLE ventas_hora (
+    fecha date NOT NULL,
+    hora integer NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    tickets bigint NOT NULL,
+    tickets_domicilio bigint NOT NULL,
+    unidades bigint NOT NULL,
+    PRIMARY KEY (fecha, hora)
+) ENGINE=InnoDB;
+
+CREATE TABLE ventas_plato_dia (
+    fecha date NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    plato_id integer NOT NULL,
+    tickets bigint NOT NULL,
+    unidades bigint NOT NULL,
+    unidades_domicilio bigint NOT NULL,
+    PRIMARY KEY (fecha, plato_id)
+) ENGINE=InnoDB;
+
+ALTER TABLE facturas ADD CONSTRAINT UK76o9rfx6mrp85usj46tnll76u UNIQUE (pedido_id);
+
+ALTER TABLE usuarios ADD CONSTRAINT UK3m5n1w5trapxlbo2s42ugwdmd UNIQUE (usuario);
+
+ALTER TABLE facturas ADD CONSTRAINT FK66aqtgi8w5t46g7cytr2259w4 FOREIGN KEY (pedido_id) REFERENCES pedidos (id);
+
+ALTER TABLE facturas ADD CONSTRAINT FK3lu079nqos8r2bw05qu553q1h FOREIGN KEY (usuario_doc) REFERENCES usuarios (documento);
+
+ALTER TABLE item_pedido ADD CONSTRAINT FKq6cx2t1dh4ikg93nvlpumswxx FOREIGN KEY (pedido_id) REFERENCES pedidos (id);
+
+ALTER TABLE item_pedido ADD CONSTRAINT FKl6h7cc41mjq4t4xu894rh71wy FOREIGN KEY (plato_id) REFERENCES platos (id);
+
+ALTER TABLE pedidos ADD CONSTRAINT FKdli64l1e8r94h6n8crylamok9 FOREIGN KEY (cliente_doc) REFERENCES usuarios (documento);
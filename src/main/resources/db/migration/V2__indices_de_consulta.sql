@@ -0,0 +1,18 @@
+-- Índices para las consultas de los repositorios. En MySQL, el índice implícito de
+-- cada clave foránea se elimina solo al existir uno que empiece por la misma columna.
+-- La lista de índices esperados está también en VerificadorIndices.
+
+-- PedidoRepository.findByEstado, findTotalesSinFacturar (estado = FINALIZADO)
+CREATE INDEX idx_pedidos_estado_fecha ON pedidos (estado, fecha);
+
+-- PedidoRepository.findByCliente, findByClienteDocumento
+CREATE INDEX idx_pedidos_cliente_fecha ON pedidos (cliente_doc, fecha);
+
+-- PedidoRepository.calcularTotal, findConItemsByIdIn y la colección Pedido.items
+CREATE INDEX idx_item_pedido_pedido ON item_pedido (pedido_id);
+
+-- FacturaRepository.findResumenesByUsuarioDocumento, findByIdAndUsuarioDocumento
+CREATE INDEX idx_facturas_usuario_fecha ON facturas (usuario_doc, fecha);
+
+-- UsuarioRepository.findByRol
+CREATE INDEX idx_usuarios_rol ON usuarios (rol);
@@ -0,0 +1,17 @@
+-- Bandeja de salida (outbox) de la facturación automática: PedidoService.updateEstado
+-- inserta una fila en la misma transacción que pasa el pedido a FINALIZADO y
+-- FacturacionAutomaticaService la convierte en factura en segundo plano.
+-- Sin clave foránea a pedidos: si el pedido desaparece, la fila se descarta al procesarla.
+CREATE TABLE facturas_pendientes (
+    id bigint NOT NULL AUTO_INCREMENT,
+    pedido_id integer NOT NULL,
+    creado datetime(6) NOT NULL,
+    intentos integer NOT NULL DEFAULT 0,
+    proximo_intento datetime(6) NOT NULL,
+    ultimo_error varchar(500),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_facturas_pendientes_pedido UNIQUE (pedido_id)
+) ENGINE=InnoDB;
+
+-- FacturacionAutomaticaService: filas vencidas (proximo_intento <= ahora)
+CREATE INDEX idx_facturas_pendientes_proximo ON facturas_pendientes (proximo_intento);
@@ -0,0 +1,42 @@
+-- Archivo de pedidos: ArchivoPedidosService mueve aquí, por lotes, los pedidos
+-- FINALIZADO ya facturados y con cierta antigüedad, para que pedidos e item_pedido
+-- (y sus índices) se queden con los datos que se consultan a diario.
+-- Mismas columnas que las tablas de origen; sin claves foráneas, así un plato o un
+-- usuario borrado después no impide archivar ni leer el histórico.
+CREATE TABLE pedidos_archivo (
+    id integer NOT NULL,
+    fecha datetime(6) NOT NULL,
+    es_domicilio bit NOT NULL,
+    estado varchar(20) NOT NULL,
+    version bigint NOT NULL,
+    cliente_doc varchar(20) NOT NULL,
+    archivado datetime(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE item_pedido_archivo (
+    id integer NOT NULL,
+    pedido_id integer NOT NULL,
+    plato_id integer NOT NULL,
+    cantidad integer NOT NULL,
+    precio_unitario decimal(10,2) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+-- ArchivoPedidosService: lecturas por cliente y de los items de cada pedido
+CREATE INDEX idx_pedidos_archivo_cliente_fecha ON pedidos_archivo (cliente_doc, fecha);
+CREATE INDEX idx_item_pedido_archivo_pedido ON item_pedido_archivo (pedido_id);
+
+-- Las facturas se quedan en su tabla y siguen apuntando al pedido ya archivado
+ALTER TABLE facturas DROP FOREIGN KEY FK66aqtgi8w5t46g7cytr2259w4;
+
+-- Pedidos e items activos más los archivados (ResumenVentasService.reconstruir)
+CREATE VIEW pedidos_historico AS
+    SELECT id, fecha, es_domicilio, estado, version, cliente_doc FROM pedidos
+    UNION ALL
+    SELECT id, fecha, es_domicilio, estado, version, cliente_doc FROM pedidos_archivo;
+
+CREATE VIEW item_pedido_historico AS
+    SELECT id, pedido_id, plato_id, cantidad, precio_unitario FROM item_pedido
+    UNION ALL
+    SELECT id, pedido_id, plato_id, cantidad, precio_unitario FROM item_pedido_archivo;
@@ -0,0 +1,3 @@
+-- ExportacionFacturasService: rango de fechas recorrido en orden (fecha, id). El índice
+-- lleva la clave primaria al final, así que el cursor no necesita ordenar el resultado
+CREATE INDEX idx_facturas_fecha ON facturas (fecha);
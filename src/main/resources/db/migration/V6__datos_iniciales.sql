@@ -0,0 +1,32 @@
+-- Datos iniciales que antes creaban UsuarioService.init y PlatoService.init en cada
+-- arranque. Como entonces, solo se insertan si la tabla está vacía, así que las bases
+-- que ya los tienen no cambian. Las contraseñas ("4" para Admin, "1", "2" y "3" para
+-- los meseros) van ya en BCrypt de fuerza 10; el login las vuelve a codificar con la
+-- fuerza configurada (ver PasswordHashingService.necesitaRehash).
+
+INSERT INTO usuarios (documento, nombre, telefono, direccion, usuario, contraseña, rol)
+SELECT s.documento, s.nombre, s.telefono, s.direccion, s.usuario, s.contrasena, s.rol
+FROM (
+    SELECT '114' AS documento, 'Admin' AS nombre, '309975' AS telefono, 'hola3' AS direccion, 'Admin' AS usuario,
+           '$2a$10$ZMEdl/MypGKgOJoC//AnueA5Ft6vCiGnm8m/zzfR6xk/1JgORWR/2' AS contrasena, 'ADMIN' AS rol
+    UNION ALL SELECT '111', 'Juan Pérez', '302345', 'hola', 'Mesero1',
+           '$2a$10$/mFV.ylbiOiytHPDNqywWeAHWhcw4GA0IB5TvpuYKkTFa9BHOnArm', 'MESERO'
+    UNION ALL SELECT '112', 'Maria Lopez', '303678', 'hola1', 'Mesero2',
+           '$2a$10$EONV3GGpgxqOhdti3ypAMOBhZ/oD0laxMZ626GsOdBvUFYcVS4/8y', 'MESERO'
+    UNION ALL SELECT '113', 'Carlos Ruiz', '309874', 'hola2', 'Mesero3',
+           '$2a$10$uOZjh5aiYpNJiehR3tLXeeTSPuZQXtB/Qxch1seVeaS/NWGDM4/Bm', 'MESERO'
+) s
+WHERE NOT EXISTS (SELECT 1 FROM usuarios);
+
+INSERT INTO platos (nombre, descripcion, precio)
+SELECT s.nombre, s.descripcion, s.precio
+FROM (
+    SELECT 1 AS orden, 'Sushi clasico' AS nombre, 'Nigiri de salmón, makis de atún, roll california' AS descripcion, 25000.00 AS precio
+    UNION ALL SELECT 2, 'Ramen especial', 'Ramen de miso con cerdo chashu', 25000.00
+    UNION ALL SELECT 3, 'Bento Teriyaki', 'Pollo teriyaki, arroz blanco, ensalada de algas', 20000.00
+    UNION ALL SELECT 4, 'Tempura mixto', 'Langostinos tempura, verduras tempura, salsa tentsuyu', 20000.00
+    UNION ALL SELECT 5, 'Udon tradicional', 'Sopa de udon con dashi, tofu frito, kamaboko', 25000.00
+    UNION ALL SELECT 6, 'Yakisoba', 'Tallarines fritos con vegetales, cerdo o pollo, salsa yakisoba', 15000.00
+) s
+WHERE NOT EXISTS (SELECT 1 FROM platos)
+ORDER BY s.orden;
@@ -0,0 +1,89 @@
+-- Puente para las bases creadas antes de Flyway con spring.jpa.hibernate.ddl-auto=update.
+-- Flyway solo ejecuta este callback al tomar como línea base (V1) un esquema que ya tiene
+-- tablas pero no historial; una base nueva ejecuta V1 y nunca pasa por aquí. Deja el
+-- esquema igual que el de V1, para que V2 en adelante y ddl-auto=validate funcionen:
+-- - pedidos, item_pedido y facturas sin AUTO_INCREMENT (los ids los reserva GeneradorIds,
+--   que al arrancar pone cada contador por encima del id más alto)
+-- - pedidos.version para el bloqueo optimista
+-- - id_generador y los acumulados de ventas, que se llenan con las facturas existentes
+
+-- MySQL no deja cambiar una columna referenciada por una clave foránea con las comprobaciones activas
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE pedidos MODIFY id integer NOT NULL;
+
+ALTER TABLE item_pedido MODIFY id integer NOT NULL;
+
+ALTER TABLE facturas MODIFY id bigint NOT NULL;
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- Los pedidos existentes empiezan en la versión 0; sin valor por defecto, igual que en V1
+ALTER TABLE pedidos ADD COLUMN version bigint NOT NULL DEFAULT 0;
+
+ALTER TABLE pedidos ALTER COLUMN version DROP DEFAULT;
+
+CREATE TABLE id_generador (
+    siguiente bigint,
+    entidad varchar(255) NOT NULL,
+    PRIMARY KEY (entidad)
+) ENGINE=InnoDB;
+
+CREATE TABLE ventas_dia (
+    fecha date NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    ingresos_domicilio decimal(14,2) NOT NULL,
+    tickets bigint NOT NULL,
+    tickets_domicilio bigint NOT NULL,
+    unidades bigint NOT NULL,
+    PRIMARY KEY (fecha)
+) ENGINE=InnoDB;
+
+CREATE TABLE ventas_hora (
+    fecha date NOT NULL,
+    hora integer NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    tickets bigint NOT NULL,
+    tickets_domicilio bigint NOT NULL,
+    unidades bigint NOT NULL,
+    PRIMARY KEY (fecha, hora)
+) ENGINE=InnoDB;
+
+CREATE TABLE ventas_plato_dia (
+    fecha date NOT NULL,
+    ingresos decimal(14,2) NOT NULL,
+    plato_id integer NOT NULL,
+    tickets bigint NOT NULL,
+    unidades bigint NOT NULL,
+    unidades_domicilio bigint NOT NULL,
+    PRIMARY KEY (fecha, plato_id)
+) ENGINE=InnoDB;
+
+-- Mismos acumulados que ResumenVentasService.reconstruir (aún no hay pedidos archivados)
+INSERT INTO ventas_dia (fecha, tickets, tickets_domicilio, unidades, ingresos, ingresos_domicilio)
+    SELECT CAST(f.fecha AS DATE), COUNT(DISTINCT f.id),
+        COUNT(DISTINCT CASE WHEN p.es_domicilio THEN f.id END), SUM(i.cantidad),
+        SUM(i.precio_unitario * i.cantidad),
+        SUM(CASE WHEN p.es_domicilio THEN i.precio_unitario * i.cantidad ELSE 0 END)
+    FROM facturas f
+    JOIN pedidos p ON p.id = f.pedido_id
+    JOIN item_pedido i ON i.pedido_id = p.id
+    GROUP BY CAST(f.fecha AS DATE);
+
+INSERT INTO ventas_hora (fecha, hora, tickets, tickets_domicilio, unidades, ingresos)
+    SELECT CAST(f.fecha AS DATE), HOUR(f.fecha), COUNT(DISTINCT f.id),
+        COUNT(DISTINCT CASE WHEN p.es_domicilio THEN f.id END), SUM(i.cantidad),
+        SUM(i.precio_unitario * i.cantidad)
+    FROM facturas f
+    JOIN pedidos p ON p.id = f.pedido_id
+    JOIN item_pedido i ON i.pedido_id = p.id
+    GROUP BY CAST(f.fecha AS DATE), HOUR(f.fecha);
+
+INSERT INTO ventas_plato_dia (fecha, plato_id, tickets, unidades, unidades_domicilio, ingresos)
+    SELECT CAST(f.fecha AS DATE), i.plato_id, COUNT(DISTINCT f.id), SUM(i.cantidad),
+        SUM(CASE WHEN p.es_domicilio THEN i.cantidad ELSE 0 END),
+        SUM(i.precio_unitario * i.cantidad)
+    FROM facturas f
+    JOIN pedidos p ON p.id = f.pedido_id
+    JOIN item_pedido i ON i.pedido_id = p.id
+    GROUP BY CAST(f.fecha AS DATE), i.plato_id;
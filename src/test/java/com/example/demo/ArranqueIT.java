@@ -0,0 +1,111 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tiempo de arranque del artefacto de producción: arranca target/app con AOT y el
+ * archivo AppCDS, igual que en producción, y sin ellos, alternando
+ * arranque.repeticiones veces. Falla si la mediana con AOT y CDS no es al menos
+ * arranque.mejora-minima más rápida que la mediana sin ellos. Al comparar dos
+ * arranques de la misma máquina en la misma ejecución, el resultado no depende de lo
+ * rápida que sea. Lo ejecuta failsafe en mvn -Pprod verify y necesita las mismas
+ * variables DB_* que el entrenamiento de CDS. La salida de la aplicación solo se
+ * muestra si un arranque falla.
+ */
+class ArranqueIT {
+
+	private static final Pattern ARRANCADA = Pattern.compile(
+			"Started DemoApplication in [0-9.]+ seconds \\(process running for ([0-9.]+)\\)");
+
+	private static final long LIMITE_MS = 180_000;
+
+	@Test
+	void aotYCdsArrancanMasRapido() throws Exception {
+		Path directorio = Path.of(System.getProperty("arranque.directorio"));
+		String jar = System.getProperty("arranque.jar");
+		int repeticiones = Integer.getInteger("arranque.repeticiones", 3);
+		double mejoraMinima = Double.parseDouble(System.getProperty("arranque.mejora-minima", "0.2"));
+		assertThat(directorio.resolve("application.jsa")).exists();
+
+		// Alternados, para que la carga de la máquina en cada momento afecte a los dos por igual
+		List<Long> sinOptimizar = new ArrayList<>();
+		List<Long> optimizado = new ArrayList<>();
+		for (int i = 0; i < repeticiones; i++) {
+			sinOptimizar.add(arrancar(directorio, List.of("java", "-jar", jar)));
+			optimizado.add(arrancar(directorio, List.of("java", "-XX:SharedArchiveFile=application.jsa",
+				"-Dspring.aot.enabled=true", "-jar", jar)));
+		}
+
+		long base = mediana(sinOptimizar);
+		assertThat(mediana(optimizado))
+			.as("mediana en ms con AOT y CDS %s frente a %s sin ellos (mejora mínima %.0f%%)",
+				optimizado, sinOptimizar, mejoraMinima * 100)
+			.isLessThanOrEqualTo(Math.round(base * (1 - mejoraMinima)));
+	}
+
+	// ms hasta "Started DemoApplication" ("process running for", incluye el arranque de la JVM)
+	private static long arrancar(Path directorio, List<String> comando) throws Exception {
+		List<String> completo = new ArrayList<>(comando);
+		completo.addAll(List.of("--spring.profiles.active=prod", "--server.port=0"));
+		Process proceso = new ProcessBuilder(completo)
+			.directory(directorio.toFile())
+			.redirectErrorStream(true)
+			.start();
+		StringBuilder salida = new StringBuilder();
+		try {
+			return CompletableFuture.supplyAsync(() -> esperarArranque(proceso, salida))
+				.get(LIMITE_MS, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+			String motivo = e instanceof TimeoutException
+				? "no arrancó en " + LIMITE_MS + " ms"
+				: e.getCause().getMessage();
+			synchronized (salida) {
+				throw new AssertionError(String.join(" ", completo) + ": " + motivo + "\n" + salida, e);
+			}
+		} finally {
+			proceso.destroy();
+			if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+				proceso.destroyForcibly();
+			}
+		}
+	}
+
+	private static long esperarArranque(Process proceso, StringBuilder salida) {
+		try (BufferedReader log = new BufferedReader(new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+			String linea;
+			while ((linea = log.readLine()) != null) {
+				synchronized (salida) {
+					salida.append(linea).append('\n');
+				}
+				Matcher arrancada = ARRANCADA.matcher(linea);
+				if (arrancada.find()) {
+					return Math.round(Double.parseDouble(arrancada.group(1)) * 1000);
+				}
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		throw new IllegalStateException("La aplicación terminó sin arrancar (código " + proceso.onExit().join().exitValue() + ")");
+	}
+
+	private static long mediana(List<Long> tiempos) {
+		List<Long> ordenados = tiempos.stream().sorted().toList();
+		return ordenados.get(ordenados.size() / 2);
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tabla de transiciones de Estado: solo se avanza un paso (PENDIENTE → PREPARACION →
+ * FINALIZADO), nunca se retrocede ni se salta, y origenes() es su inversa.
+ */
+class EstadoTest {
+
+	@Test
+	void soloSeAvanzaUnPaso() {
+		assertThat(Estado.PENDIENTE.puedePasarA(Estado.PREPARACION)).isTrue();
+		assertThat(Estado.PREPARACION.puedePasarA(Estado.FINALIZADO)).isTrue();
+
+		assertThat(Estado.PENDIENTE.puedePasarA(Estado.FINALIZADO)).isFalse();
+		assertThat(Estado.PREPARACION.puedePasarA(Estado.PENDIENTE)).isFalse();
+		assertThat(Estado.FINALIZADO.puedePasarA(Estado.PENDIENTE)).isFalse();
+		assertThat(Estado.FINALIZADO.puedePasarA(Estado.PREPARACION)).isFalse();
+	}
+
+	@Test
+	void ningunEstadoPasaASiMismo() {
+		for (Estado estado : Estado.values()) {
+			assertThat(estado.puedePasarA(estado)).as(estado.name()).isFalse();
+		}
+	}
+
+	@Test
+	void origenesEsLaInversaDeLasTransiciones() {
+		assertThat(Estado.PENDIENTE.origenes()).isEmpty();
+		assertThat(Estado.PREPARACION.origenes()).containsExactly(Estado.PENDIENTE);
+		assertThat(Estado.FINALIZADO.origenes()).containsExactly(Estado.PREPARACION);
+
+		for (Estado destino : Estado.values()) {
+			for (Estado origen : Estado.values()) {
+				assertThat(destino.origenes().contains(origen))
+					.as(origen + " → " + destino)
+					.isEqualTo(origen.puedePasarA(destino));
+			}
+		}
+	}
+}
@@ -0,0 +1,63 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Celdas del CSV de facturas sin base de datos: escapado RFC 4180, protección
+ * contra fórmulas y fechas siempre con el mismo ancho.
+ */
+class ExportacionFacturasServiceTest {
+
+	@Test
+	void textoSimpleSinComillas() throws IOException {
+		assertThat(texto("Ana Pérez")).isEqualTo("Ana Pérez");
+		assertThat(texto("")).isEmpty();
+		assertThat(texto(null)).isEmpty();
+	}
+
+	@Test
+	void separadorComillasYSaltosVanEntreComillas() throws IOException {
+		assertThat(texto("Calle 1, apto 2")).isEqualTo("\"Calle 1, apto 2\"");
+		assertThat(texto("el \"Flaco\"")).isEqualTo("\"el \"\"Flaco\"\"\"");
+		assertThat(texto("línea 1\nlínea 2")).isEqualTo("\"línea 1\nlínea 2\"");
+		assertThat(texto("línea 1\r\nlínea 2")).isEqualTo("\"línea 1\r\nlínea 2\"");
+	}
+
+	@Test
+	void formulasSeNeutralizan() throws IOException {
+		assertThat(texto("=1+1")).isEqualTo("'=1+1");
+		assertThat(texto("+57 300")).isEqualTo("'+57 300");
+		assertThat(texto("-2")).isEqualTo("'-2");
+		assertThat(texto("@SUMA(A1)")).isEqualTo("'@SUMA(A1)");
+		assertThat(texto("\tx")).isEqualTo("'\tx");
+		// Neutralizada y además entre comillas por la coma
+		assertThat(texto("=HIPERVINCULO(\"a\",\"b\")")).isEqualTo("\"'=HIPERVINCULO(\"\"a\"\",\"\"b\"\")\"");
+		// Solo el primer carácter cuenta
+		assertThat(texto("a=b")).isEqualTo("a=b");
+	}
+
+	@Test
+	void fechasConSegundosSiempre() throws IOException {
+		assertThat(fecha(LocalDateTime.of(2024, 3, 5, 9, 7))).isEqualTo("2024-03-05T09:07:00");
+		assertThat(fecha(LocalDateTime.of(2024, 3, 5, 9, 7, 0, 500_000_000))).isEqualTo("2024-03-05T09:07:00");
+		assertThat(fecha(LocalDateTime.of(2024, 12, 31, 23, 59, 58))).isEqualTo("2024-12-31T23:59:58");
+		assertThat(fecha(null)).isEmpty();
+	}
+
+	private static String texto(String valor) throws IOException {
+		StringWriter escritor = new StringWriter();
+		ExportacionFacturasService.escribirTexto(escritor, valor);
+		return escritor.toString();
+	}
+
+	private static String fecha(LocalDateTime valor) throws IOException {
+		StringWriter escritor = new StringWriter();
+		ExportacionFacturasService.escribirFecha(escritor, valor);
+		return escritor.toString();
+	}
+}
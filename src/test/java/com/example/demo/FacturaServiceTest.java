@@ -0,0 +1,50 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Listados de facturas contra H2 (perfil test): la factura de un pedido ya archivado
+ * trae el pedido desde pedidos_archivo, marcado como archivado, y no un pedido null.
+ */
+@SpringBootTest(properties = "pedidos.archivo.antiguedad-dias=-1")
+@ActiveProfiles("test")
+class FacturaServiceTest {
+
+	@Autowired
+	private FacturaService facturaService;
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private ArchivoPedidosService archivoPedidosService;
+
+	@Test
+	void facturaDePedidoArchivadoTraeElPedidoDelArchivo() {
+		Pedido pedido = pedidoService.realizarPedido(new PedidoRequestDTO("113", true, List.of(new ItemPedidoDTO(1, 2))));
+		Integer id = pedido.getId();
+		Factura factura = facturaService.saveFactura("113", id);
+		pedidoService.updateEstado(id, Estado.PREPARACION, null);
+		pedidoService.updateEstado(id, Estado.FINALIZADO, null);
+
+		assertThat(archivoPedidosService.archivar()).isPositive();
+		assertThat(pedidoService.findById(id)).isEmpty();
+
+		FacturaResumenDTO resumen = facturaService.findAllFacturasByUsuarioDoc("113").stream()
+			.filter(f -> f.getId().equals(factura.getId()))
+			.findFirst()
+			.orElseThrow();
+		assertThat(resumen.getPedidoId()).isEqualTo(id);
+		assertThat(resumen.getPedido()).isNotNull();
+		assertThat(resumen.getPedido().getId()).isEqualTo(id);
+		assertThat(resumen.getPedido().isArchivado()).isTrue();
+		assertThat(resumen.getPedido().getEstado()).isEqualTo(Estado.FINALIZADO);
+		assertThat(resumen.getPedido().getEsDomicilio()).isTrue();
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Búsqueda del menú sin base de datos: prefijos, tildes, transliteraciones del
+ * japonés, palabras vacías y orden por relevancia.
+ */
+class IndiceMenuTest {
+
+	private static final List<Plato> PLATOS = List.of(
+		plato(1, "Ramen de shoyu", "Caldo de soja con chashu y huevo"),
+		plato(2, "Tsukemen", "Fideos gruesos para mojar en caldo de cerdo"),
+		plato(3, "Tempura de langostinos", "Rebozado ligero con salsa tentsuyu"),
+		plato(4, "Onigiri de atún", "Bola de arroz con atún y mayonesa"),
+		plato(5, "Gyoza", "Empanadillas a la plancha con ramen de acompañamiento"));
+
+	private final IndiceMenu indice = IndiceMenu.construir(PLATOS, null);
+
+	@Test
+	void variantesUnificaLasTransliteraciones() {
+		assertThat(IndiceMenu.variantes("shouyu")).containsExactly("shouyu", "syoyu");
+		assertThat(IndiceMenu.variantes("shoyu")).containsExactly("shoyu", "syoyu");
+		assertThat(IndiceMenu.variantes("syoyu")).containsExactly("syoyu");
+		assertThat(IndiceMenu.variantes("tempura")).containsExactly("tempura", "tenpura");
+		assertThat(IndiceMenu.variantes("tsukemen")).containsExactly("tsukemen", "tukemen");
+		assertThat(IndiceMenu.variantes("chashu")).containsExactly("chashu", "tyasyu");
+		assertThat(IndiceMenu.variantes("ramen")).containsExactly("ramen");
+	}
+
+	@Test
+	void buscaPorPrefijoSinTildesNiMayusculas() {
+		assertThat(ids(indice.buscar("ATUN", 10))).containsExactly(4);
+		assertThat(ids(indice.buscar("oni", 10))).containsExactly(4);
+		assertThat(ids(indice.buscar("langost", 10))).containsExactly(3);
+	}
+
+	@Test
+	void encuentraOtrasTransliteraciones() {
+		assertThat(ids(indice.buscar("shouyu", 10))).containsExactly(1);
+		assertThat(ids(indice.buscar("tenpura", 10))).containsExactly(3);
+		assertThat(ids(indice.buscar("tukemen", 10))).containsExactly(2);
+		assertThat(ids(indice.buscar("tyasyu", 10))).containsExactly(1);
+	}
+
+	@Test
+	void todasLasPalabrasDebenAparecerSalvoLasVacias() {
+		assertThat(ids(indice.buscar("caldo cerdo", 10))).containsExactly(2);
+		assertThat(ids(indice.buscar("ramen de shoyu", 10))).containsExactly(1);
+		assertThat(indice.buscar("ramen sushi", 10)).isEmpty();
+		assertThat(indice.buscar("de la", 10)).isEmpty();
+		assertThat(indice.buscar("  ", 10)).isEmpty();
+	}
+
+	@Test
+	void elNombrePesaMasQueLaDescripcion() {
+		// "ramen" está en el nombre del 1 y solo en la descripción del 5
+		assertThat(ids(indice.buscar("ramen", 10))).containsExactly(1, 5);
+		assertThat(ids(indice.buscar("ramen", 1))).containsExactly(1);
+	}
+
+	@Test
+	void reconstruirReflejaLosCambiosDeUnPlato() {
+		Plato cambiado = plato(4, "Onigiri de salmón", "Bola de arroz con salmón");
+		IndiceMenu nuevo = IndiceMenu.construir(List.of(PLATOS.get(0), PLATOS.get(1), PLATOS.get(2), cambiado, PLATOS.get(4)), indice);
+
+		assertThat(nuevo.buscar("atun", 10)).isEmpty();
+		assertThat(ids(nuevo.buscar("salmon", 10))).containsExactly(4);
+		assertThat(ids(nuevo.buscar("tsukemen", 10))).containsExactly(2);
+	}
+
+	private static Plato plato(int id, String nombre, String descripcion) {
+		Plato plato = new Plato(nombre, descripcion, BigDecimal.TEN);
+		plato.setId(id);
+		return plato;
+	}
+
+	private static List<Integer> ids(List<Plato> platos) {
+		return platos.stream().map(Plato::getId).toList();
+	}
+}
@@ -0,0 +1,87 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Listado de pedidos contra H2 (perfil test): la página cuesta lo mismo en consultas
+ * SQL sin importar cuántos items tenga cada pedido, y GET /api/pedidos no pasa de
+ * pedidos.pagina.tamano-maximo. Las peticiones llevan el token del administrador de V6.
+ */
+@SpringBootTest(properties = "pedidos.pagina.tamano-maximo=4")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PedidoControllerTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private PedidoService pedidoService;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Value("${pedidos.pagina.presupuesto-consultas}")
+	private int presupuestoConsultas;
+
+	private String autorizacion;
+
+	@BeforeAll
+	void crearPedidos() {
+		autorizacion = "Bearer " + tokenService.emitir(usuarioRepository.findById("114").orElseThrow());
+		// Clientes y platos distintos por pedido, varios items en cada uno (datos de V6)
+		String[] clientes = {"111", "112", "113"};
+		for (int i = 0; i < 6; i++) {
+			pedidoService.realizarPedido(new PedidoRequestDTO(clientes[i % clientes.length], i % 2 == 0, List.of(
+				new ItemPedidoDTO(1 + i % 6, 1),
+				new ItemPedidoDTO(1 + (i + 1) % 6, 2),
+				new ItemPedidoDTO(1 + (i + 2) % 6, 3))));
+		}
+	}
+
+	@Test
+	void paginaDentroDelPresupuestoDeConsultas() throws Exception {
+		MvcResult resultado = mockMvc.perform(get("/api/pedidos/pagina").param("tamano", "4")
+				.header(HttpHeaders.AUTHORIZATION, autorizacion))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.pedidos.length()").value(4))
+			.andExpect(jsonPath("$.pedidos[0].items.length()").value(3))
+			.andExpect(jsonPath("$.siguienteCursor").isNumber())
+			.andReturn();
+
+		int consultas = Integer.parseInt(resultado.getResponse().getHeader("X-Consultas-SQL"));
+		assertThat(consultas).isBetween(1, presupuestoConsultas);
+	}
+
+	@Test
+	void listadoCompletoLimitadoConEnlaceALaSiguientePagina() throws Exception {
+		MvcResult resultado = mockMvc.perform(get("/api/pedidos").header(HttpHeaders.AUTHORIZATION, autorizacion))
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.length()").value(4))
+			.andReturn();
+
+		assertThat(resultado.getResponse().getHeader(HttpHeaders.LINK))
+			.contains("/api/pedidos/pagina?despuesDe=")
+			.endsWith("&tamano=4>; rel=\"next\"");
+	}
+}
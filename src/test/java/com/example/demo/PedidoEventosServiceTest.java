@@ -0,0 +1,120 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Eventos de pedidos publicados desde varios hilos a la vez: cada pantalla los recibe
+ * en el orden de sus ids, sin huecos ni repetidos, también la que se suscribe con
+ * Last-Event-ID mientras se publica.
+ */
+class PedidoEventosServiceTest {
+
+	private static final Pattern ID = Pattern.compile("^id:(\\S+)$", Pattern.MULTILINE);
+
+	private static final int HILOS = 8;
+
+	private static final int POR_HILO = 250;
+
+	private final PedidoEventosService servicio = new PedidoEventosService(10_000, 30) {
+		@Override
+		SseEmitter nuevoEmisor(long timeoutMs) {
+			return new EmisorRegistrado(timeoutMs);
+		}
+	};
+
+	@AfterEach
+	void cerrar() {
+		servicio.cerrar();
+	}
+
+	@Test
+	void idsEnOrdenSinRepetidosConVariosPublicadores() throws Exception {
+		EmisorRegistrado desdeElInicio = (EmisorRegistrado) servicio.suscribir(null);
+		servicio.publicar(cambio());
+		String primero = desdeElInicio.esperar(1).get(0);
+		String epoca = primero.substring(0, primero.lastIndexOf('-'));
+
+		CountDownLatch salida = new CountDownLatch(1);
+		List<Thread> hilos = new ArrayList<>();
+		for (int i = 0; i < HILOS; i++) {
+			Thread hilo = new Thread(() -> {
+				try {
+					salida.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int j = 0; j < POR_HILO; j++) {
+					servicio.publicar(cambio());
+				}
+			});
+			hilo.start();
+			hilos.add(hilo);
+		}
+		salida.countDown();
+		// Se reconecta mientras los demás hilos publican
+		EmisorRegistrado reconectado = (EmisorRegistrado) servicio.suscribir(primero);
+		for (Thread hilo : hilos) {
+			hilo.join();
+		}
+
+		int total = 1 + HILOS * POR_HILO;
+		assertThat(desdeElInicio.esperar(total)).containsExactlyElementsOf(ids(epoca, 1, total));
+		assertThat(reconectado.esperar(total - 1)).containsExactlyElementsOf(ids(epoca, 2, total));
+	}
+
+	private static PedidoEventoDTO cambio() {
+		return new PedidoEventoDTO(PedidoEventoDTO.Tipo.ESTADO, 1, Estado.PREPARACION);
+	}
+
+	private static List<String> ids(String epoca, long desde, long hasta) {
+		return LongStream.rangeClosed(desde, hasta).mapToObj(numero -> epoca + "-" + numero).toList();
+	}
+
+	/** Guarda el id de cada evento enviado en vez de escribirlo en una respuesta. */
+	private static class EmisorRegistrado extends SseEmitter {
+
+		private final List<String> ids = new CopyOnWriteArrayList<>();
+
+		EmisorRegistrado(long timeoutMs) {
+			super(timeoutMs);
+		}
+
+		@Override
+		public void send(SseEventBuilder evento) throws IOException {
+			for (DataWithMediaType parte : evento.build()) {
+				if (parte.getData() instanceof String texto) {
+					Matcher id = ID.matcher(texto);
+					if (id.find()) {
+						ids.add(id.group(1));
+					}
+				}
+			}
+		}
+
+		// Espera a que el hilo de envío entregue al menos 'cantidad' eventos (o un segundo sin cambios)
+		List<String> esperar(int cantidad) throws InterruptedException {
+			int anterior = -1;
+			long sinCambios = 0;
+			while (ids.size() < cantidad && sinCambios < 1000) {
+				Thread.sleep(10);
+				sinCambios = ids.size() == anterior ? sinCambios + 10 : 0;
+				anterior = ids.size();
+			}
+			return List.copyOf(ids);
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package com.example.demo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+/**
+ * Negociación del formato de GET /api/platos según Accept, sin levantar el contexto.
+ */
+class PlatoControllerTest {
+
+	@Test
+	void sinAcceptOComodinEsJson() {
+		assertThat(PlatoController.elegirFormato(null)).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(PlatoController.elegirFormato(" ")).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(PlatoController.elegirFormato("*/*")).isEqualTo(MediaType.APPLICATION_JSON);
+		assertThat(PlatoController.elegirFormato("application/*")).isEqualTo(MediaType.APPLICATION_JSON);
+	}
+
+	@Test
+	void formatosBinarios() {
+		assertThat(PlatoController.elegirFormato("application/cbor")).isEqualTo(MediaType.APPLICATION_CBOR);
+		assertThat(PlatoController.elegirFormato("application/x-jackson-smile"))
+			.isEqualTo(FormatosBinariosConfig.APPLICATION_SMILE);
+	}
+
+	@Test
+	void ganaLaMayorCalidadYLoMasEspecifico() {
+		assertThat(PlatoController.elegirFormato("application/json;q=0.5, application/cbor"))
+			.isEqualTo(MediaType.APPLICATION_CBOR);
+		assertThat(PlatoController.elegirFormato("*/*;q=0.8, application/x-jackson-smile"))
+			.isEqualTo(FormatosBinariosConfig.APPLICATION_SMILE);
+		assertThat(PlatoController.elegirFormato("text/html, application/cbor;q=0.9, */*;q=0.1"))
+			.isEqualTo(MediaType.APPLICATION_CBOR);
+	}
+
+	@Test
+	void calidadCeroExcluyeElFormato() {
+		assertThat(PlatoController.elegirFormato("application/json;q=0, application/cbor;q=0.2"))
+			.isEqualTo(MediaType.APPLICATION_CBOR);
+		assertThat(PlatoController.elegirFormato("application/json;q=0")).isNull();
+	}
+
+	@Test
+	void sinFormatoCompatibleEsNull() {
+		assertThat(PlatoController.elegirFormato("text/html")).isNull();
+		assertThat(PlatoController.elegirFormato("application/xml, text/csv")).isNull();
+	}
+
+	@Test
+	void acceptMalFormadoSeTrataComoJson() {
+		assertThat(PlatoController.elegirFormato("no es un tipo")).isEqualTo(MediaType.APPLICATION_JSON);
+	}
+}
@@ -0,0 +1,84 @@
+package com.example.demo;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Reglas de acceso a la API contra H2 (perfil test): login, registro y lectura del
+ * menú sin token; el resto de /api con token, y 401 Bearer si falta o no es válido.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+	private static final String CADUCADO = "Bearer caducado";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private UsuarioRepository usuarioRepository;
+
+	@Test
+	void sinTokenLaApiResponde401() throws Exception {
+		mockMvc.perform(get("/api/pedidos"))
+			.andExpect(status().isUnauthorized())
+			.andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer"));
+		mockMvc.perform(get("/api/facturas"))
+			.andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void tokenInvalidoEnRutaProtegidaResponde401() throws Exception {
+		mockMvc.perform(get("/api/pedidos").header(HttpHeaders.AUTHORIZATION, CADUCADO))
+			.andExpect(status().isUnauthorized())
+			.andExpect(header().string(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\""));
+	}
+
+	@Test
+	void conTokenValidoPasa() throws Exception {
+		String token = tokenService.emitir(usuarioRepository.findById("114").orElseThrow());
+		mockMvc.perform(get("/api/pedidos/pagina").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void elMenuEsPublicoAunqueElTokenHayaCaducado() throws Exception {
+		mockMvc.perform(get("/api/platos"))
+			.andExpect(status().isOk());
+		mockMvc.perform(get("/api/platos/1").header(HttpHeaders.AUTHORIZATION, CADUCADO))
+			.andExpect(status().isOk());
+	}
+
+	@Test
+	void loginConTokenCaducadoEmiteUnoNuevo() throws Exception {
+		MvcResult iniciado = mockMvc.perform(post("/api/usuarios/login")
+				.header(HttpHeaders.AUTHORIZATION, CADUCADO)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"usuario\":\"Admin\",\"contraseña\":\"4\"}"))
+			.andExpect(request().asyncStarted())
+			.andReturn();
+
+		mockMvc.perform(asyncDispatch(iniciado))
+			.andExpect(status().isOk())
+			.andExpect(header().exists("X-Auth-Token"));
+	}
+}